@@ -0,0 +1,52 @@
+package com.twodstudios.platformjumper.benchmarks;
+
+import com.twodstudios.platformjumper.CoinManager;
+import com.twodstudios.platformjumper.LevelStream;
+import com.twodstudios.platformjumper.Tiles;
+import org.openjdk.jmh.annotations.*;
+
+/** Benchmarks for spawning, moving and evicting coins. */
+@State(Scope.Thread)
+public class CoinManagerBenchmark {
+
+    private static final float STEP_TIME = 1 / 60f;
+    private Tiles tiles;
+    private CoinManager coinManager;
+    private LevelStream levelStream;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tiles = new Tiles(300f);
+        coinManager = new CoinManager(300f);
+        levelStream = new LevelStream(tiles, coinManager, 42L);
+        levelStream.fillBuffer();
+    }
+
+    /** Spawn and evict coins for one simulation step. */
+    @Benchmark
+    public int generateCoins() {
+        tiles.moveTiles(STEP_TIME);
+        coinManager.moveCoins(STEP_TIME); // Move coins so they are eventually evicted
+        levelStream.advance(tiles.getStepDistance());
+        levelStream.fillBuffer();
+        tiles.removeOffscreenTiles();
+        coinManager.removeOffscreenCoins();
+        return coinManager.getCoins().size;
+    }
+
+    /** Move all coins one simulation step. */
+    @Benchmark
+    public int moveCoins() {
+        coinManager.moveCoins(STEP_TIME);
+        coinManager.removeOffscreenCoins();
+
+        // Start the level over once all coins have moved off-screen
+        if (coinManager.getCoins().isEmpty()) {
+            tiles.reset();
+            coinManager.reset();
+            levelStream.reset();
+            levelStream.fillBuffer();
+        }
+        return coinManager.getCoins().size;
+    }
+}
@@ -0,0 +1,51 @@
+package com.twodstudios.platformjumper.benchmarks;
+
+import com.twodstudios.platformjumper.HighScoreStore;
+import com.twodstudios.platformjumper.Leaderboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+
+/**
+ * Benchmarks for submitting a high score and for rank queries. {@link #submitHighScore()} measures the cost on
+ * the render thread, {@link #submitAndWrite()} also waits until the background writer has written the file.
+ */
+@State(Scope.Thread)
+public class LeaderboardBenchmark {
+
+    private HighScoreStore highScoreStore;
+    private int[] page;
+    private int score;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        highScoreStore = new HighScoreStore(new File("high_scores.bin"), new File("high_scores.json"));
+        highScoreStore.start();
+        page = new int[10];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        highScoreStore.close();
+    }
+
+    @Benchmark
+    public void submitHighScore() {
+        highScoreStore.submit("BENCHMARK", score++ & 0xFFFF);
+    }
+
+    @Benchmark
+    public void submitAndWrite() {
+        highScoreStore.submit("BENCHMARK", score++ & 0xFFFF);
+        while (!highScoreStore.isWritten()) {
+            Thread.yield();
+        }
+    }
+
+    @Benchmark
+    public int rankAndPage() {
+        Leaderboard leaderboard = highScoreStore.getLeaderboard();
+        int rank = leaderboard.getRank(score++ & 0xFFFF);
+        return rank + leaderboard.getTopEntries(rank, page);
+    }
+}
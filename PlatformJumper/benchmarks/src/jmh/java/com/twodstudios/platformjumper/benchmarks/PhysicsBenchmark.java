@@ -0,0 +1,45 @@
+package com.twodstudios.platformjumper.benchmarks;
+
+import com.twodstudios.platformjumper.CoinManager;
+import com.twodstudios.platformjumper.GameWorld;
+import com.twodstudios.platformjumper.Player;
+import com.twodstudios.platformjumper.Tiles;
+import org.openjdk.jmh.annotations.*;
+
+/** Benchmarks for the collision checks with a growing amount of tiles and coins. */
+@State(Scope.Thread)
+public class PhysicsBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int entityCount;
+
+    private GameWorld world;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        world = new GameWorld(300f);
+        player = world.getPlayer();
+        Tiles tiles = world.getTiles();
+        CoinManager coinManager = world.getCoinManager();
+
+        // Add tiles and coins to the right of the initial tiles. Coins are placed above the player so they are
+        // checked by the broadphase but never collected, which keeps the amount of coins constant.
+        float startX = tiles.getXPosition(tiles.getTileCount() - 1);
+        for (int i = 1; i <= entityCount; i++) {
+            tiles.addTile(startX + i * 450f, 100f);
+        }
+        for (int i = 0; i < entityCount; i++) {
+            coinManager.spawnCoin(i * 200f, 550f);
+        }
+    }
+
+    /** Step the player against all tiles and coins while standing on the first tiles. */
+    @Benchmark
+    public float step() {
+        player.setYPosition(135f);
+        player.setVerticalVelocity(-10f);
+        world.getPhysicsManager().step(1 / 60f);
+        return player.getYPosition();
+    }
+}
@@ -0,0 +1,304 @@
+package com.twodstudios.platformjumper.benchmarks;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.RandomXS128;
+import com.twodstudios.platformjumper.*;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Allocation regression gate for the gameplay loop. Runs the frames of a {@link com.twodstudios.platformjumper.screens.PlayScreen}
+ * headless for a number of frames, with a bot that jumps at random and restarts the run a second after the player dies. A frame
+ * is the {@link SimulationLoop} with timed jump presses, {@link GameWorld} steps with background level generation, the
+ * tile, coin and player renderers, the particle effects, the HUD stage (act and {@link Main#drawStage}) and frame
+ * profiling.
+ * <p>
+ * Everything is drawn into the {@link NullBatch} of the core tests, on the assets of the game screen loaded with their
+ * mock GL. The batch makes no GL calls, so only the allocations of the game are measured, not those of the mock GL.
+ * The {@link Background} and the logo are not part of it: the background draws through frame buffers, which need
+ * the GL, and the page of the logo atlas is not in the assets folder. Sounds are not played.
+ * <p>
+ * The bytes allocated by the game thread are measured with {@code ThreadMXBean} after a warm-up, so that pools,
+ * buffers and the JIT compiler have settled. When more than the budget is allocated per frame the gate fails, and runs the
+ * frames once more to list the top allocation sites sampled by the JFR {@code jdk.ObjectAllocationSample} event
+ * (JDK 16 and newer).
+ * <p>
+ * Run with: {@code ./gradlew :benchmarks:simulationAllocationGate -Pframes=20000 -PbudgetBytes=0}
+ */
+public class SimulationAllocationGate {
+
+    private static final float BACKGROUND_SPEED = 300f;
+    private static final int WARMUP_FRAMES = 20000;
+    private static final int GAME_OVER_FRAMES = 60; // Frames the game over screen is shown before the bot restarts
+
+    // The JVM itself allocates a few bytes on the thread now and then, e.g. when the JIT compiler replaces code or
+    // when the allocated bytes are read. Those allocations have no site in the game and are tolerated up to this total
+    private static final long JVM_TOLERANCE_BYTES = 4096;
+    private static final int REPORTED_SITES = 10;
+
+    private final GameWorld world;
+    private final Player player;
+    private final FixedTimestep fixedTimestep;
+    private final KeyEventQueue keyEventQueue;
+    private final SimulationLoop simulationLoop;
+    private final FrameProfiler frameProfiler;
+
+    // Drawing
+    private final NullBatch batch = new NullBatch();
+    private final ViewCuller viewCuller = new ViewCuller();
+    private final TileRenderer tileRenderer;
+    private final CoinRenderer coinRenderer;
+    private final PlayerRenderer playerRenderer;
+    private final EffectsManager effectsManager;
+    private final Hud hud;
+
+    private final RandomXS128 random = new RandomXS128(42L); // Drives the bot, so every run is the same
+    private long frameTime; // Clock of the bot in nanoseconds, jump presses are timed with it
+    private int deaths;
+    private int gameOverFrames; // Frames since the player died
+
+    public SimulationAllocationGate() {
+        Assets assets = HeadlessGdx.getPlayAssets();
+        final float explosionY = assets.getAtlas(Assets.PARALLAX_ATLAS).findRegion("ground").getRegionHeight() / 2f;
+        world = new GameWorld(BACKGROUND_SPEED, 42L);
+        player = world.getPlayer();
+        world.setGameEventListener(new GameEventListener() {
+            @Override
+            public void coinCollected() {
+            }
+
+            @Override
+            public void playerDied() {
+                deaths++;
+                // Lava explosion at the death spot, in the middle of the ground like PlayScreen starts it
+                effectsManager.spawnLavaExplosion(player.getXPosition() - player.getWidth() / 5f, explosionY);
+            }
+        });
+        fixedTimestep = new FixedTimestep(60f, 5);
+        keyEventQueue = new KeyEventQueue(16);
+        simulationLoop = new SimulationLoop(world, fixedTimestep, keyEventQueue);
+        frameProfiler = new FrameProfiler(1024);
+
+        // The camera of the running game, without zoom
+        OrthographicCamera camera = new OrthographicCamera(Main.WORLD_WIDTH, Main.WORLD_HEIGHT);
+        camera.position.set(Main.WORLD_WIDTH / 2, Main.WORLD_HEIGHT / 2, 0);
+        camera.update();
+        viewCuller.setView(camera);
+
+        tileRenderer = new TileRenderer(batch, world.getTiles(), viewCuller, assets);
+        coinRenderer = new CoinRenderer(batch, world.getCoinManager(), viewCuller, assets);
+        playerRenderer = new PlayerRenderer(batch, player, assets);
+        effectsManager = new EffectsManager(batch, assets);
+        effectsManager.setViewCuller(viewCuller);
+        hud = new Hud(new HudListener() {
+            @Override
+            public void pauseGame() {
+            }
+        }, batch, assets);
+    }
+
+    /** Run and draw one frame, like PlayScreen does while the game is running. */
+    private void frame() {
+        frameProfiler.beginFrame(0);
+
+        // Frame times between 1/144 and 1/30 seconds, so the timestep runs zero to several steps per frame
+        float deltaTime = 1 / 144f + random.nextFloat() * (1 / 30f - 1 / 144f);
+        long frameNanos = (long) (deltaTime * 1e9);
+        frameTime += frameNanos;
+
+        // The bot presses jump at a random time during the frame, like the key listener of PlayScreen queues it
+        if (random.nextInt(40) == 0) {
+            keyEventQueue.offer(Input.Keys.SPACE, frameTime - (long) (random.nextFloat() * frameNanos));
+        }
+
+        coinRenderer.updateAnimationTime(deltaTime);
+        float alpha = 1f;
+        if (!player.isDead()) {
+            frameProfiler.begin(FrameProfiler.Phase.SIMULATION);
+            simulationLoop.advance(deltaTime, frameTime);
+            frameProfiler.end(FrameProfiler.Phase.SIMULATION);
+            hud.setScore(world.getScore());
+            if (!player.isDead()) {
+                alpha = fixedTimestep.getAlpha();
+            }
+        }
+
+        batch.begin();
+        frameProfiler.begin(FrameProfiler.Phase.WORLD);
+        tileRenderer.drawTiles(alpha);
+        coinRenderer.drawCoins(alpha);
+        if (!player.isDead()) {
+            playerRenderer.drawRunOrJump(alpha);
+        } else {
+            playerRenderer.drawDeathAnimation();
+        }
+        frameProfiler.end(FrameProfiler.Phase.WORLD);
+        frameProfiler.begin(FrameProfiler.Phase.EFFECTS);
+        if (!player.isDead()) {
+            effectsManager.drawSparkles(deltaTime);
+        }
+        effectsManager.drawEffects(deltaTime); // Lava explosions
+        frameProfiler.end(FrameProfiler.Phase.EFFECTS);
+        batch.end();
+
+        frameProfiler.begin(FrameProfiler.Phase.HUD);
+        hud.render(deltaTime);
+        frameProfiler.end(FrameProfiler.Phase.HUD);
+
+        // Start a new run once the explosion has been shown, like pressing UP on the game over screen
+        if (player.isDead() && ++gameOverFrames == GAME_OVER_FRAMES) {
+            gameOverFrames = 0;
+            world.reset(random.nextLong());
+            effectsManager.reset();
+            fixedTimestep.reset();
+            keyEventQueue.clear();
+        }
+
+        frameProfiler.endFrame(0);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        long budgetBytes = args.length > 1 ? Long.parseLong(args[1]) : 0;
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threadBean.isThreadAllocatedMemorySupported()) {
+            System.out.println("SKIPPED: thread allocation measurement is not supported by this JVM.");
+            return;
+        }
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up, so that pools, buffers and the JIT compiler have settled
+        SimulationAllocationGate gate = new SimulationAllocationGate();
+        gate.world.startBackgroundGeneration();
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            gate.frame();
+        }
+
+        int startDeaths = gate.deaths;
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < frames; i++) {
+            gate.frame();
+        }
+        long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        double bytesPerFrame = (double) allocatedBytes / frames;
+        System.out.printf(Locale.ROOT, "Frames: %d (%d runs ended), allocated: %d bytes, %.2f bytes/frame, budget: %d bytes/frame%n",
+            frames, gate.deaths - startDeaths, allocatedBytes, bytesPerFrame, budgetBytes);
+
+        if (allocatedBytes > budgetBytes * frames + JVM_TOLERANCE_BYTES) {
+            // Run the frames again while JFR samples allocations, to find out where they come from
+            printAllocationSites(gate, frames, threadId);
+            gate.world.stopBackgroundGeneration();
+            System.out.println("FAILED: the gameplay loop allocates more than the budget.");
+            System.exit(1);
+        }
+        gate.world.stopBackgroundGeneration();
+        System.out.println("PASSED");
+    }
+
+    /**
+     * Run frames while JFR samples allocations, and print the sites that allocated the most on the game thread.
+     * All other events are disabled, since the game records its own events, which allocate, while they are enabled.
+     */
+    private static void printAllocationSites(SimulationAllocationGate gate, int frames, long threadId) throws IOException {
+        Map<String, String> settings = new HashMap<String, String>();
+        for (EventType eventType : FlightRecorder.getFlightRecorder().getEventTypes()) {
+            settings.put(eventType.getName() + "#enabled", "false");
+        }
+        settings.put("jdk.ObjectAllocationSample#enabled", "true");
+        settings.put("jdk.ObjectAllocationSample#stackTrace", "true");
+        settings.put("jdk.ObjectAllocationSample#throttle", "10000/s");
+
+        Path recordingFile = Files.createTempFile("simulation-allocation-gate", ".jfr");
+        Recording recording = new Recording(settings);
+        recording.start();
+        for (int i = 0; i < frames; i++) {
+            gate.frame();
+        }
+        recording.stop();
+        recording.dump(recordingFile);
+        recording.close();
+
+        final Map<String, Long> weights = new HashMap<String, Long>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+            if (!event.getEventType().getName().equals("jdk.ObjectAllocationSample")
+                || event.getThread() == null || event.getThread().getJavaThreadId() != threadId) {
+                continue;
+            }
+            String site = describeSite(event);
+            if (site == null) {
+                continue;
+            }
+            Long weight = weights.get(site);
+            weights.put(site, (weight != null ? weight : 0L) + event.getLong("weight"));
+        }
+        Files.deleteIfExists(recordingFile);
+
+        if (weights.isEmpty()) {
+            System.out.println("No allocation samples on the game thread. Allocation sampling needs JDK 16 or newer.");
+            return;
+        }
+        List<String> sites = new ArrayList<String>(weights.keySet());
+        Collections.sort(sites, new Comparator<String>() {
+            @Override
+            public int compare(String first, String second) {
+                return Long.compare(weights.get(second), weights.get(first));
+            }
+        });
+        System.out.println("Top allocation sites (sampled bytes):");
+        for (int i = 0; i < Math.min(REPORTED_SITES, sites.size()); i++) {
+            System.out.printf(Locale.ROOT, "%12d  %s%n", weights.get(sites.get(i)), sites.get(i));
+        }
+    }
+
+    /**
+     * Describe where an allocation sample was taken: the allocated class, the allocating method and the first method
+     * of the game or libGDX that led to it, since the allocating method is often in the JDK.
+     * @return Description of the site, or null if the allocation did not happen during a frame.
+     */
+    private static String describeSite(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return null;
+        }
+
+        String site = null;
+        String gameFrame = null;
+        for (RecordedFrame stackFrame : stackTrace.getFrames()) {
+            String type = stackFrame.getMethod().getType().getName();
+            if (type.equals(SimulationAllocationGate.class.getName())) {
+                if (!stackFrame.getMethod().getName().equals("frame")) {
+                    return null;
+                }
+                break;
+            }
+            if (site == null) {
+                site = event.getClass("objectClass").getName() + " at " + describeFrame(stackFrame);
+            } else if (gameFrame == null && (type.startsWith("com.twodstudios.") || type.startsWith("com.badlogic."))) {
+                gameFrame = describeFrame(stackFrame);
+            }
+        }
+        if (site == null) {
+            return null; // Not reached from a frame
+        }
+        return gameFrame != null ? site + " from " + gameFrame : site;
+    }
+
+    private static String describeFrame(RecordedFrame stackFrame) {
+        return stackFrame.getMethod().getType().getName() + "." + stackFrame.getMethod().getName() + ":" + stackFrame.getLineNumber();
+    }
+}
@@ -0,0 +1,48 @@
+package com.twodstudios.platformjumper.benchmarks;
+
+import com.twodstudios.platformjumper.CoinManager;
+import com.twodstudios.platformjumper.LevelStream;
+import com.twodstudios.platformjumper.Tiles;
+import org.openjdk.jmh.annotations.*;
+
+/** Benchmarks for moving and generating tiles. */
+@State(Scope.Thread)
+public class TilesBenchmark {
+
+    private static final float STEP_TIME = 1 / 60f;
+    private Tiles tiles;
+    private CoinManager coinManager;
+    private LevelStream levelStream;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tiles = new Tiles(300f);
+        coinManager = new CoinManager(300f);
+        levelStream = new LevelStream(tiles, coinManager, 42L);
+        levelStream.fillBuffer();
+    }
+
+    /** Move all tiles one simulation step. */
+    @Benchmark
+    public float moveTiles() {
+        tiles.moveTiles(STEP_TIME);
+        advanceLevel(); // Keep the amount of buffered tiles stable
+        return tiles.getXPosition(0);
+    }
+
+    /** Generate and evict buffer tiles and coins after the level has moved one simulation step. */
+    @Benchmark
+    public int generateBufferTiles() {
+        tiles.moveTiles(STEP_TIME);
+        coinManager.moveCoins(STEP_TIME);
+        advanceLevel();
+        return tiles.getTileCount();
+    }
+
+    private void advanceLevel() {
+        levelStream.advance(tiles.getStepDistance());
+        levelStream.fillBuffer();
+        tiles.removeOffscreenTiles();
+        coinManager.removeOffscreenCoins();
+    }
+}
@@ -0,0 +1,23 @@
+package com.twodstudios.platformjumper;
+
+import jdk.jfr.Event;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event recorded by {@link Assets} when a queued asset group has finished loading. */
+@Name("platformjumper.AssetLoad")
+@Label("Asset Group Load")
+@Category({"PlatformJumper", "Assets"})
+@Description("Asynchronous loading of an asset group, from queueing its assets until all of them are loaded.")
+public class AssetLoadEvent extends Event {
+
+    @Label("Group")
+    @Description("Name of the asset group.")
+    public String group;
+
+    @Label("Asset Count")
+    @Description("Amount of assets in the group.")
+    public int assetCount;
+}
@@ -0,0 +1,246 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.ParticleEffectLoader;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGeneratorLoader;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Loads and owns all assets of the game through one {@link AssetManager}. Assets are declared in groups, one per
+ * screen, which are loaded asynchronously before the screen is shown and unloaded when the screen is left.
+ * An asset used by several groups is only loaded once, and stays loaded until no loaded group uses it anymore.
+ */
+public class Assets implements Disposable {
+
+    /** Groups of assets that are loaded and unloaded together. */
+    public enum Group {
+        SHARED, // Used by all screens, loaded at startup and never unloaded
+        MENU, // Start menu, which is kept for the whole game
+        PLAY,
+        HIGHSCORE
+    }
+
+    // Texture atlases
+    public static final String MAIN_LOGO_ATLAS = "atlas/main_logo.atlas";
+    public static final String GAMEPLAY_ATLAS = "atlas/gameplay.atlas"; // Generated by the packTextures Gradle task
+    public static final String PARALLAX_ATLAS = "atlas/parallax.atlas"; // Generated by the packTextures Gradle task
+    public static final String STAR_COIN_ATLAS = "hud/star_coin.atlas";
+
+    // Skins, each skin also loads the atlas with the same name
+    public static final String MAIN_MENU_SKIN = "atlas/main_menu.json";
+    public static final String HUD_SKIN = "hud/new/hud_skin.json";
+    public static final String GAME_OVER_SKIN = "skins/game_over_skin.json";
+    public static final String HIGH_SCORE_SKIN = "skins/high_score_skin.json";
+
+    // Textures
+    public static final String MENU_BACKGROUND = "menu_background.png";
+    public static final String UI_BACKGROUND = "ui_background.png";
+
+    // Fonts
+    public static final String PAUSE_FONT = "fonts/Jersey10-Regular.ttf";
+
+    // Particle effects. Gameplay effects take their images from the gameplay atlas, others from the effects folder
+    public static final String LAVA_SPARKLES_EFFECT = "effects/lava_sparkles.p";
+    public static final String LAVA_EXPLOSION_EFFECT = "effects/lava_explosion.p";
+    public static final String MAIN_MENU_SPARKLES_EFFECT = "effects/main_menu_sparkles.p";
+
+    // Sounds and music
+    public static final String GAME_OVER_SOUND = "sounds/gameOver.wav";
+    public static final String COIN_PICKUP_SOUND = "sounds/coinPickup.wav";
+    public static final String BACKGROUND_MUSIC = "sounds/backgroundMusic.ogg";
+    public static final String MENU_MUSIC = "sounds/menuMusic.ogg";
+
+    private final AssetManager assetManager;
+    private final Array<Array<AssetDescriptor<?>>> groupAssets = new Array<Array<AssetDescriptor<?>>>();
+    private final boolean[] loadedGroups = new boolean[Group.values().length]; // Groups that have been queued for loading
+    private final AssetLoadEvent[] loadEvents = new AssetLoadEvent[Group.values().length]; // Groups being timed for flight recordings
+
+    /** Create the asset service and declare the assets of all groups. Nothing is loaded until a group is loaded. */
+    public Assets() {
+        InternalFileHandleResolver resolver = new InternalFileHandleResolver();
+        assetManager = new AssetManager(resolver);
+        assetManager.setLoader(FreeTypeFontGenerator.class, new FreeTypeFontGeneratorLoader(resolver));
+
+        for (int i = 0; i < Group.values().length; i++) {
+            groupAssets.add(new Array<AssetDescriptor<?>>());
+        }
+        declareGroups();
+    }
+
+    /** Declare which assets belong to which group. Assets may belong to several groups. */
+    private void declareGroups() {
+        ParticleEffectLoader.ParticleEffectParameter effectParameter = new ParticleEffectLoader.ParticleEffectParameter();
+        effectParameter.imagesDir = Gdx.files.internal("effects");
+        ParticleEffectLoader.ParticleEffectParameter gameplayEffectParameter = new ParticleEffectLoader.ParticleEffectParameter();
+        gameplayEffectParameter.atlasFile = GAMEPLAY_ATLAS;
+
+        // Shared
+        declare(Group.SHARED, MAIN_LOGO_ATLAS, TextureAtlas.class);
+        declare(Group.SHARED, MAIN_MENU_SKIN, Skin.class);
+        declare(Group.SHARED, GAME_OVER_SOUND, Sound.class);
+        declare(Group.SHARED, COIN_PICKUP_SOUND, Sound.class);
+        declare(Group.SHARED, BACKGROUND_MUSIC, Music.class);
+        declare(Group.SHARED, MENU_MUSIC, Music.class);
+
+        // Start menu
+        declare(Group.MENU, MENU_BACKGROUND, Texture.class);
+        groupAssets.get(Group.MENU.ordinal()).add(new AssetDescriptor<ParticleEffect>(MAIN_MENU_SPARKLES_EFFECT, ParticleEffect.class, effectParameter));
+
+        // Game
+        declare(Group.PLAY, GAMEPLAY_ATLAS, TextureAtlas.class);
+        declare(Group.PLAY, PARALLAX_ATLAS, TextureAtlas.class);
+        declare(Group.PLAY, STAR_COIN_ATLAS, TextureAtlas.class);
+        declare(Group.PLAY, HUD_SKIN, Skin.class);
+        declare(Group.PLAY, GAME_OVER_SKIN, Skin.class);
+        declare(Group.PLAY, UI_BACKGROUND, Texture.class);
+        declare(Group.PLAY, PAUSE_FONT, FreeTypeFontGenerator.class);
+        groupAssets.get(Group.PLAY.ordinal()).add(new AssetDescriptor<ParticleEffect>(LAVA_SPARKLES_EFFECT, ParticleEffect.class, gameplayEffectParameter));
+        groupAssets.get(Group.PLAY.ordinal()).add(new AssetDescriptor<ParticleEffect>(LAVA_EXPLOSION_EFFECT, ParticleEffect.class, gameplayEffectParameter));
+
+        // High score screen
+        declare(Group.HIGHSCORE, HIGH_SCORE_SKIN, Skin.class);
+        declare(Group.HIGHSCORE, MENU_BACKGROUND, Texture.class);
+        declare(Group.HIGHSCORE, UI_BACKGROUND, Texture.class);
+    }
+
+    private <T> void declare(Group group, String fileName, Class<T> type) {
+        groupAssets.get(group.ordinal()).add(new AssetDescriptor<T>(fileName, type));
+    }
+
+    /**
+     * Queue all assets of a group for asynchronous loading. Call {@link #update()} each frame to load them.
+     * Loading a group that is already loaded has no effect.
+     */
+    public void load(Group group) {
+        if (loadedGroups[group.ordinal()]) {
+            return;
+        }
+        loadedGroups[group.ordinal()] = true;
+
+        AssetLoadEvent event = new AssetLoadEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            loadEvents[group.ordinal()] = event;
+        }
+
+        // The asset manager counts references, so assets shared with other loaded groups are not loaded twice
+        Array<AssetDescriptor<?>> assets = groupAssets.get(group.ordinal());
+        for (int i = 0; i < assets.size; i++) {
+            assetManager.load(assets.get(i));
+        }
+    }
+
+    /**
+     * Unload all assets of a group, except assets that are still used by another loaded group.
+     * Objects created from the assets of the group must not be used afterwards.
+     */
+    public void unload(Group group) {
+        if (!loadedGroups[group.ordinal()]) {
+            return;
+        }
+        loadedGroups[group.ordinal()] = false;
+        loadEvents[group.ordinal()] = null;
+
+        Array<AssetDescriptor<?>> assets = groupAssets.get(group.ordinal());
+        for (int i = 0; i < assets.size; i++) {
+            assetManager.unload(assets.get(i).fileName);
+        }
+    }
+
+    /**
+     * Continue loading queued assets for a short time without blocking the render thread.
+     * @return True if all queued assets are loaded.
+     */
+    public boolean update() {
+        boolean done = assetManager.update(17); // Spend at most about one frame per call
+        commitLoadEvents();
+        return done;
+    }
+
+    /** Load all queued assets at once, blocking until they are done. */
+    public void finishLoading() {
+        assetManager.finishLoading();
+        commitLoadEvents();
+    }
+
+    /** Record an {@link AssetLoadEvent} for each timed group that has finished loading. */
+    private void commitLoadEvents() {
+        for (Group group : Group.values()) {
+            AssetLoadEvent event = loadEvents[group.ordinal()];
+            if (event != null && isLoaded(group)) {
+                loadEvents[group.ordinal()] = null;
+                event.end();
+                if (event.shouldCommit()) {
+                    event.group = group.name();
+                    event.assetCount = groupAssets.get(group.ordinal()).size;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    /** Check if all assets of a group are loaded and ready to use. */
+    public boolean isLoaded(Group group) {
+        if (!loadedGroups[group.ordinal()]) {
+            return false;
+        }
+        Array<AssetDescriptor<?>> assets = groupAssets.get(group.ordinal());
+        for (int i = 0; i < assets.size; i++) {
+            if (!assetManager.isLoaded(assets.get(i).fileName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Get loading progress (0-1) of all queued assets. */
+    public float getProgress() {
+        return assetManager.getProgress();
+    }
+
+    public TextureAtlas getAtlas(String fileName) {
+        return assetManager.get(fileName, TextureAtlas.class);
+    }
+
+    public Skin getSkin(String fileName) {
+        return assetManager.get(fileName, Skin.class);
+    }
+
+    public Texture getTexture(String fileName) {
+        return assetManager.get(fileName, Texture.class);
+    }
+
+    public FreeTypeFontGenerator getFontGenerator(String fileName) {
+        return assetManager.get(fileName, FreeTypeFontGenerator.class);
+    }
+
+    /** Get a loaded particle effect. Create a copy with {@code new ParticleEffect(effect)} before changing it. */
+    public ParticleEffect getParticleEffect(String fileName) {
+        return assetManager.get(fileName, ParticleEffect.class);
+    }
+
+    public Sound getSound(String fileName) {
+        return assetManager.get(fileName, Sound.class);
+    }
+
+    public Music getMusic(String fileName) {
+        return assetManager.get(fileName, Music.class);
+    }
+
+    /** Dispose of all assets. */
+    @Override
+    public void dispose() {
+        assetManager.dispose();
+    }
+}
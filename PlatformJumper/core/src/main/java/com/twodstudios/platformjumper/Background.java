@@ -1,37 +1,83 @@
 package com.twodstudios.platformjumper;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+import java.nio.Buffer;
+import java.nio.IntBuffer;
 
 /**
  * Class for creating and drawing different parallax backgrounds.
+ * <p>
+ * All layers and the ground are rows of one texture that repeats horizontally (see the packTextures Gradle task).
+ * Each layer is drawn as a single quad across the screen, and scrolls by moving its U coordinates instead of its
+ * position, so the texture wraps around by itself.
+ * <p>
+ * Layers are composited into off-screen frame buffers to save fill rate. While the background stands still (start
+ * mode, pause and game over) one snapshot of all layers is drawn instead of the layers. While it moves, the slowest
+ * layers are kept in a cache that is only redrawn when one of them has moved a whole pixel, and at most every few
+ * frames. The buffers have one pixel per world unit, the same as the layer textures, so no detail is lost.
+ * <p>
+ * Only the part of each layer inside the view of the {@link ViewCuller} is drawn to the screen, so a zoomed in
+ * camera does not fill pixels outside the screen.
  */
-public class Background {
+public class Background implements Disposable {
+
+    // Layers 0-2 move at 0.10-0.20 of the background speed and are drawn at whole pixel offsets from the cache.
+    // The fastest of them crosses a pixel about every frame at 60 fps, so the cache is redrawn when one of them has
+    // crossed a pixel, but at most every CACHE_REDRAW_INTERVAL frames. Composing the cache then costs a third of
+    // drawing the layers every frame, and the layers lag at most two frames of movement (2 pixels at 60 fps) behind
+    private static final int CACHED_LAYER_COUNT = 3;
+    private static final int CACHE_REDRAW_INTERVAL = 3;
 
     private final Main game;
 
     // Textures
     private final TextureAtlas atlas; // Texture atlas object.
+    private final Texture texture; // Repeating texture that holds all layers and the ground.
     private final TextureRegion[] backgroundImages; // Array of texture regions.
     private final TextureRegion ground;
 
     // Background variables
-    private final float[][] bgXPositions;
+    private final float[] bgOffsets; // Scrolled distance of each layer in pixels, wraps at the texture width.
     private float backgroundSpeed;
     private final float[] speeds; // Array that will store different speeds for the parallax background textures.
 
     // Ground variables
-    private float groundXPosition = 0;
-    private final int groundWidth;
+    private float groundOffset = 0; // Scrolled distance of the ground in pixels, wraps at the texture width.
     private final int groundHeight;
-    private final int numOfGrounds;
-    private final int totalDuplicateGrounds;
+
+    // Frame buffers, created on first use
+    private FrameBuffer slowLayersBuffer; // Slow layers at the pixel offsets in cachedPixelOffsets
+    private final int[] cachedPixelOffsets;
+    private int framesSinceCacheRedraw; // Frames the slow layers have been drawn from the cache since it was redrawn
+    private FrameBuffer snapshotBuffer; // All layers at the current offsets, valid until a layer moves
+    private boolean snapshotValid;
+
+    // View the layers are drawn to the screen in, and the unclipped view for drawing into the frame buffers
+    private ViewCuller viewCuller = new ViewCuller();
+    private final ViewCuller bufferView = new ViewCuller();
+
+    // State of the sprite batch that is restored after drawing into a frame buffer
+    private final Matrix4 bufferProjection = new Matrix4().setToOrtho2D(0, 0, Main.WORLD_WIDTH, Main.WORLD_HEIGHT);
+    private final Matrix4 savedProjection = new Matrix4();
+    private final IntBuffer savedViewport = BufferUtils.newIntBuffer(16);
 
     /**
      * Constructor for the Background class.
      * @param backgroundSpeed Base speed of parallax background.
-     * @param atlasFileName File path to .atlas file
+     * @param atlasFileName File path to .atlas file with one full width region per layer, and the ground.
      * @param numOfAssets Number of backgrounds.
      * @param game to be decided.
      */
@@ -39,46 +85,72 @@ public class Background {
 
         this.game = game;
 
-        // Creating atlas object
-        this.atlas = new TextureAtlas(Gdx.files.internal(atlasFileName));
+        // Get atlas object from the loaded assets
+        this.atlas = game.assets.getAtlas(atlasFileName);
 
         // Initialising background variables.
         this.backgroundSpeed = backgroundSpeed;
         this.backgroundImages = new TextureRegion[numOfAssets]; // Array with all texture regions of the backgrounds
-        this.bgXPositions = new float[this.backgroundImages.length][3]; // Preparing array for x positions of background images
+        this.bgOffsets = new float[this.backgroundImages.length];
+        this.cachedPixelOffsets = new int[CACHED_LAYER_COUNT];
         this.speeds = new float[]{this.backgroundSpeed * 0.10f, this.backgroundSpeed * 0.15f, this.backgroundSpeed * 0.20f, this.backgroundSpeed * 0.45f,
         this.backgroundSpeed * 0.45f, this.backgroundSpeed * 0.8f};// Array of speeds for each background.
 
         // Initialising ground variables.
-        this.ground = this.atlas.findRegion("lava");
-        this.groundWidth = ground.getRegionWidth();
+        this.ground = this.atlas.findRegion("ground");
         this.groundHeight = ground.getRegionHeight();
-        this.numOfGrounds = (int) Main.WORLD_WIDTH / groundWidth;
-        this.totalDuplicateGrounds = (int) (numOfGrounds * 2.1);
+        this.texture = ground.getTexture();
 
-        // For loop to load all background texture regions and assign initial x position of all backgrounds.
+        // For loop to load all background texture regions.
         for(int i = 0; i < backgroundImages.length; i++){
-            // Loading all texture regions
-            String imageName = String.format("bg_" + i);
-            backgroundImages[i] = atlas.findRegion(imageName);
-            // Assign initial x positions
-            float bgWidth = backgroundImages[i].getRegionWidth();// Get width of all texture region.
-            this.bgXPositions[i][0] = 0;
-            this.bgXPositions[i][1] = bgWidth;
-            this.bgXPositions[i][2] = this.bgXPositions[i][1] + bgWidth;
+            backgroundImages[i] = atlas.findRegion("bg_" + i);
         }
     }
 
     /**
-     * Draws a set of texture regions with different speeds to create a parallax effect.
+     * Draws a set of texture regions with different speeds to create a parallax effect. Must be called between
+     * begin and end of the sprite batch.
      * @param shouldMove If true the background will move, or else it will stay static.
      */
     public void drawBackgroundSet(boolean shouldMove, float deltaTime){
+
+        // Standing still: draw the same snapshot every frame
+        if (!shouldMove) {
+            if (!snapshotValid) {
+                if (snapshotBuffer == null) {
+                    snapshotBuffer = createBuffer();
+                }
+                drawIntoBuffer(snapshotBuffer, 0, backgroundImages.length);
+                snapshotValid = true;
+            }
+            drawBuffer(snapshotBuffer);
+            return;
+        }
+
+        snapshotValid = false;
         for(int i = 0; i < this.backgroundImages.length; i++){
-            drawBackground(this.backgroundImages[i], shouldMove, deltaTime, speeds[i], bgXPositions[i]);
+            bgOffsets[i] = scroll(bgOffsets[i], speeds[i] * deltaTime);
+        }
+
+        // Draw the slow layers from the cache, redrawn at most every CACHE_REDRAW_INTERVAL frames
+        framesSinceCacheRedraw++;
+        if (slowLayersBuffer == null) {
+            slowLayersBuffer = createBuffer();
+            redrawSlowLayers();
+        } else if (framesSinceCacheRedraw >= CACHE_REDRAW_INTERVAL && hasSlowLayerMovedPixel()) {
+            redrawSlowLayers();
+        }
+        drawBuffer(slowLayersBuffer);
+        for (int i = CACHED_LAYER_COUNT; i < this.backgroundImages.length; i++) {
+            drawBackground(i, viewCuller);
         }
     }
 
+    /** Set the view to draw the layers and the ground in. Parts outside of it are not drawn. */
+    public void setViewCuller(ViewCuller viewCuller) {
+        this.viewCuller = viewCuller;
+    }
+
     /**
      * Set new background speed for the parallax background.
      * @param newBackgroundSpeed Background speed to be set.
@@ -91,63 +163,148 @@ public class Background {
     public int getGroundHeight(){return this.groundHeight;}
 
     /**
-     * Draws a texture region at a giving speed. Enable or disable moving background using the shouldMove parameter.
-     * @param background Texture region to be drawn.
-     * @param shouldMove If true the background will move, or else it will stay static.
-     * @param speed Scrolling speed of the moving background.
-     * @param bgXPositions Array of three x positions for seamless background movement.
+     * Draws one layer of the background at its current offset. The slow layers are drawn at whole pixel offsets, so
+     * they look the same whether they come from the cache or not.
+     * @param layer Index of the layer, 0 being the farthest away.
+     * @param view View to draw the layer in.
      */
-    public void drawBackground(TextureRegion background, boolean shouldMove, float deltaTime, float speed, float[] bgXPositions){
+    private void drawBackground(int layer, ViewCuller view){
+        float offset = layer < CACHED_LAYER_COUNT ? (int) bgOffsets[layer] : bgOffsets[layer];
+        drawRow(backgroundImages[layer], offset, Main.WORLD_HEIGHT, view);
+    }
 
-        if (shouldMove) {
+    /** Draw the slow layers into the cache at their current pixel offsets. */
+    private void redrawSlowLayers() {
+        drawIntoBuffer(slowLayersBuffer, 0, CACHED_LAYER_COUNT);
+        framesSinceCacheRedraw = 0;
+    }
 
-            // Update background positions for endless scrolling of background.
-            bgXPositions[0] -= speed * deltaTime;
-            bgXPositions[1] -= speed * deltaTime;
-            bgXPositions[2] -= speed * deltaTime;
+    /** Check if a slow layer has moved a whole pixel since the cache was drawn. */
+    private boolean hasSlowLayerMovedPixel() {
+        for (int i = 0; i < CACHED_LAYER_COUNT; i++) {
+            if ((int) bgOffsets[i] != cachedPixelOffsets[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
 
+    /** Create a frame buffer with one pixel per world unit. */
+    private FrameBuffer createBuffer() {
+        FrameBuffer buffer = new FrameBuffer(Pixmap.Format.RGBA8888, (int) Main.WORLD_WIDTH, (int) Main.WORLD_HEIGHT, false);
+        buffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        return buffer;
+    }
 
-            // Reset background positions when they reach the edge.
-            if (bgXPositions[0] + background.getRegionWidth() <= 0) { // If background 1 is fully off the screen...
-                bgXPositions[0] = bgXPositions[2] + background.getRegionWidth(); // Set position of background 1 to the right of bg2
-            }
-            if (bgXPositions[1] + background.getRegionWidth() <= 0) { // If background 2 is fully off the screen...
-                bgXPositions[1] = bgXPositions[0] + background.getRegionWidth(); // Set position of background 2 to the right of bg1
-            }
-            if (bgXPositions[2] + background.getRegionWidth() <= 0) { // If background 3 is fully off the screen...
-                bgXPositions[2] = bgXPositions[1] + background.getRegionWidth(); // Set position of background 3 to the right of bg2
+    /**
+     * Draw layers into a frame buffer, in between the drawing of the sprite batch. The projection, color, blending
+     * and viewport of the sprite batch are restored afterwards.
+     * @param buffer Frame buffer to draw into.
+     * @param firstLayer First layer to draw.
+     * @param endLayer Layer after the last layer to draw.
+     */
+    private void drawIntoBuffer(FrameBuffer buffer, int firstLayer, int endLayer) {
+        SpriteBatch spriteBatch = game.spriteBatch;
+        spriteBatch.end();
+
+        float color = spriteBatch.getPackedColor();
+        int srcFunc = spriteBatch.getBlendSrcFunc();
+        int dstFunc = spriteBatch.getBlendDstFunc();
+        int srcFuncAlpha = spriteBatch.getBlendSrcFuncAlpha();
+        int dstFuncAlpha = spriteBatch.getBlendDstFuncAlpha();
+        savedProjection.set(spriteBatch.getProjectionMatrix());
+        ((Buffer) savedViewport).clear();
+        Gdx.gl.glGetIntegerv(GL20.GL_VIEWPORT, savedViewport); // Letterboxed viewport of the screen
+
+        buffer.begin();
+        ScreenUtils.clear(0f, 0f, 0f, 0f);
+        spriteBatch.setProjectionMatrix(bufferProjection);
+        spriteBatch.setPackedColor(Color.WHITE_FLOAT_BITS);
+        // Add up coverage in the alpha channel, so transparent layers stay transparent when the buffer is drawn
+        spriteBatch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        spriteBatch.begin();
+        for (int i = firstLayer; i < endLayer; i++) {
+            drawBackground(i, bufferView); // The buffers are kept for later frames, whose view can be different
+            if (i < CACHED_LAYER_COUNT) {
+                cachedPixelOffsets[i] = (int) bgOffsets[i];
             }
         }
-        // Draw background images.
-        game.spriteBatch.draw(background, bgXPositions[0], 0, background.getRegionWidth(), Main.WORLD_HEIGHT);
-        game.spriteBatch.draw(background, bgXPositions[1], 0, background.getRegionWidth(), Main.WORLD_HEIGHT);
-        game.spriteBatch.draw(background, bgXPositions[2], 0, background.getRegionWidth(), Main.WORLD_HEIGHT);
+        spriteBatch.end();
+        buffer.end(savedViewport.get(0), savedViewport.get(1), savedViewport.get(2), savedViewport.get(3));
+
+        spriteBatch.setBlendFunctionSeparate(srcFunc, dstFunc, srcFuncAlpha, dstFuncAlpha);
+        spriteBatch.setPackedColor(color);
+        spriteBatch.setProjectionMatrix(savedProjection);
+        spriteBatch.begin();
+    }
+
+    /** Draw the part of the contents of a frame buffer that is in view. */
+    private void drawBuffer(FrameBuffer buffer) {
+        if (!viewCuller.isVisible(0, 0, Main.WORLD_WIDTH, Main.WORLD_HEIGHT)) {
+            return;
+        }
+        float x = Math.max(0, viewCuller.getLeft());
+        float y = Math.max(0, viewCuller.getBottom());
+        float x2 = Math.min(Main.WORLD_WIDTH, viewCuller.getRight());
+        float y2 = Math.min(Main.WORLD_HEIGHT, viewCuller.getTop());
+
+        // Frame buffer textures start at the bottom, so v runs from 0 at the bottom to 1 at the top
+        game.spriteBatch.draw(buffer.getColorBufferTexture(), x, y, x2 - x, y2 - y,
+            x / Main.WORLD_WIDTH, y / Main.WORLD_HEIGHT, x2 / Main.WORLD_WIDTH, y2 / Main.WORLD_HEIGHT);
     }
 
     /**
      * Draws moving ground texture in the set background speed.
      */
     public void drawGround(boolean shouldMove, float deltaTime){
-
         if (shouldMove) {
-            // Update base x position of ground for endless scrolling of ground.
-            groundXPosition -= this.backgroundSpeed * deltaTime;
-
-            // Reset base x position when ground textures reaches the edge.
-            if (groundXPosition < -Main.WORLD_WIDTH) {
-                groundXPosition += this.numOfGrounds * groundWidth;
-            }
+            groundOffset = scroll(groundOffset, this.backgroundSpeed * deltaTime);
         }
+        drawRow(ground, groundOffset, groundHeight, viewCuller);
+    }
 
-        // Draw ground textures.
-        for (int i = 0; i < this.totalDuplicateGrounds; i++) {
-            float currentGroundX = groundXPosition + (groundWidth * i); // Stores x position of texture about to be drawn.
-            // Draws texture if it is within view.
-            if (currentGroundX > -groundWidth && currentGroundX < Main.WORLD_WIDTH) {
-                game.spriteBatch.draw(this.ground, groundXPosition + (groundWidth * i), 0);
-            }
-        }
+    /** Move an offset by a distance, wrapping it at the texture width so the U coordinates stay small. */
+    private float scroll(float offset, float distance) {
+        offset = (offset + distance) % texture.getWidth();
+        return offset < 0 ? offset + texture.getWidth() : offset;
     }
 
+    /**
+     * Draw a full width row of the texture across the screen at its native pixel width, starting at an offset. Only
+     * the part of the row in view is drawn, with its texture coordinates cut to match.
+     * @param row Region of the row.
+     * @param offset Scrolled distance in pixels.
+     * @param height Height to draw the row with.
+     * @param view View to draw the row in.
+     */
+    private void drawRow(TextureRegion row, float offset, float height, ViewCuller view) {
+        if (!view.isVisible(0, 0, Main.WORLD_WIDTH, height)) {
+            return;
+        }
+        float x = Math.max(0, view.getLeft());
+        float y = Math.max(0, view.getBottom());
+        float x2 = Math.min(Main.WORLD_WIDTH, view.getRight());
+        float y2 = Math.min(height, view.getTop());
 
+        // Texture v runs from the top of the row at getV() to the bottom at getV2()
+        float u = (offset + x) / texture.getWidth();
+        float u2 = (offset + x2) / texture.getWidth();
+        float v = row.getV2() + (row.getV() - row.getV2()) * y / height;
+        float v2 = row.getV2() + (row.getV() - row.getV2()) * y2 / height;
+        game.spriteBatch.draw(texture, x, y, x2 - x, y2 - y, u, v, u2, v2);
+    }
+
+    /** Dispose the frame buffers. The background can still be drawn afterwards, the buffers are created again. */
+    @Override
+    public void dispose() {
+        if (slowLayersBuffer != null) {
+            slowLayersBuffer.dispose();
+            slowLayersBuffer = null;
+        }
+        if (snapshotBuffer != null) {
+            snapshotBuffer.dispose();
+            snapshotBuffer = null;
+        }
+        snapshotValid = false;
+    }
 }
@@ -1,53 +1,37 @@
 package com.twodstudios.platformjumper;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
-import static com.twodstudios.platformjumper.AnimationManager.*;
+import com.badlogic.gdx.utils.Pool;
 
 /**
-* Class to create and handle Coin objects.
+* Class to hold the position and bounds of a coin. Coin objects are pooled and recycled by the CoinManager, and
+* drawn with the animation that the CoinRenderer shares between all coins.
 */
-public class Coin {
+public class Coin implements Pool.Poolable {
     private float x;
-    private final float y;
-    private final float width;
-    private final float height;
-    private TextureAtlas atlas;
-    private final TextureRegion[] textureRegions = new TextureRegion[10];
-    private Animation<TextureRegion> animation;
+    private float y;
+    private float width;
+    private float height;
     private final Rectangle rectangle;
 
+    /** Create an empty Coin object. Use {@link #init(float, float, float, float)} to place it. */
+    public Coin() {
+        // Collision rectangle for collision logic
+        this.rectangle = new Rectangle();
+    }
+
     /**
-     * Create a Coin object.
+     * Place the Coin object.
      * @param x X-coordinate for the coin.
      * @param y Y-coordinate for the coin.
      * @param width Width of coin.
      * @param height Height of coin.
      */
-    public Coin(float x, float y, float width, float height) {
+    public void init(float x, float y, float width, float height) {
         this.x = x;
         this.y = y;
-        this.height = height;
         this.width = width;
-
-        // Collision rectangle for collision logic
-        this.rectangle = new Rectangle(x, y, width, height);
-        setupCoin();
-    }
-
-    /**
-     * Method to initialise and populate necessary fields for the Coin object.
-     */
-    private void setupCoin(){
-
-        // Load the atlas containing the coin image
-        atlas = new TextureAtlas(Gdx.files.internal("atlas/coin.atlas"));
-
-        // Create coin animation
-        animation = createAnimation(atlas, textureRegions, "coin", 1/10f);
-        animation.setPlayMode(Animation.PlayMode.LOOP); // Set animation in loop-mode
+        this.height = height;
+        rectangle.set(x, y, width, height);
     }
 
     /** Get X-coordinate of Coin-object.*/
@@ -66,11 +50,6 @@ public class Coin {
         rectangle.setX(x);
     }
 
-    /** Get the Animation object of the coin.*/
-    public Animation<TextureRegion> getAnimation() {
-        return animation;
-    }
-
     /** Get width of Coin-object.*/
     public float getWidth() {
         return width;
@@ -85,5 +64,11 @@ public class Coin {
     public Rectangle getRectangle(){
         return rectangle;
     }
+
+    /** Clear the coin before it is returned to the pool. */
+    @Override
+    public void reset() {
+        init(0, 0, 0, 0);
+    }
 }
 
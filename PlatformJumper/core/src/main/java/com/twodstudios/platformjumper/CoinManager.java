@@ -1,40 +1,23 @@
 package com.twodstudios.platformjumper;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 
-import static com.badlogic.gdx.math.MathUtils.random;
-
-
-/** Class to generate, manage and handle Coin objects.*/
+/** Class to generate, manage and handle Coin objects. Drawing is handled by {@link CoinRenderer}.*/
 public class CoinManager implements Resettable <CoinManager> {
 
-    private final SpriteBatch spriteBatch;
-    private final Tiles tiles;
-
     private float coinWidth;
     private float coinHeight;
-    private float maxHeight; // Maximum y-coordinate for any coin
-    private float minHeight; // Minimum y-coordinate for any coin
     private final float backgroundSpeed;
-    private float animationTime;
+    private float stepDistance; // Distance all coins moved during the latest simulation step
     private Array<Coin> coins; // Array to hold coin objects
-    private Array<Float> tileXPositions;
-    private Array<Float> tileYPositions;
-
-    // Cooldown time that determines the minimum amount of time between each generated coin
-    private float cooldownTime;
+    private Pool<Coin> coinPool; // Pool of recycled Coin objects
 
     /**
      * Create a new instance of CoinManager to manage Coin objects.
-     * @param spriteBatch Spritebatch that handles drawing in the game.
-     * @param tiles Tiles object.
      * @param backgroundSpeed Speed of moving background so that coins can match the movement.
      */
-    public CoinManager(SpriteBatch spriteBatch, Tiles tiles, float backgroundSpeed) {
-        this.spriteBatch = spriteBatch;
-        this.tiles = tiles;
+    public CoinManager(float backgroundSpeed) {
         this.backgroundSpeed = backgroundSpeed;
         setupCoinManager();
     }
@@ -44,15 +27,20 @@ public class CoinManager implements Resettable <CoinManager> {
      */
     private void setupCoinManager(){
         coins = new Array<Coin>(); // Array to hold all Coin objects
+        coinPool = new Pool<Coin>() {
+            @Override
+            protected Coin newObject() {
+                return new Coin();
+            }
+        };
 
-        // Set maximum height placement of tiles
-        maxHeight = Main.WORLD_HEIGHT - 150; // 150 pixels from the top of the screen
-        animationTime = 0f;
         coinWidth = 60;
         coinHeight = 60;
+    }
 
-        // Cooldown time that determines the minimum amount of time between each generated coin
-        cooldownTime = 2f;
+    /** Get the speed all coins move towards the left with, in world units per second. */
+    public float getSpeed() {
+        return backgroundSpeed;
     }
 
     /** Get the coins array holding all the Coin objects. */
@@ -60,111 +48,76 @@ public class CoinManager implements Resettable <CoinManager> {
         return coins;
     }
 
-    /** Draws all currently active coins. */
-    public void drawCoins(){
-        for (Coin coin : coins) {
-            drawCoinAnimation(coin);
+    /**
+     * Find the first coin whose right edge is beyond the given X-position. Coins are always sorted by
+     * X-position since they are spawned in level order and move at the same speed.
+     * @param xPosition X-position to search from.
+     * @return Index of the first such coin, or the amount of coins if there is none.
+     */
+    public int findFirstCoinEndingAfter(float xPosition) {
+        int low = 0;
+        int high = coins.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Coin coin = coins.get(middle);
+            if (coin.getX() + coin.getWidth() > xPosition) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
         }
+        return low;
     }
 
-    /** Generates a random float between 2-5 to dynamically set the amount of seconds for the cooldown time. */
-    private void generateNewCooldownTime(){
-        cooldownTime = 2 + random.nextFloat() * 3;
+    /**
+     * Remove a coin that has been picked up and return it to the pool.
+     * @param index Index of the coin in the coins array.
+     */
+    public void collectCoin(int index) {
+        coinPool.free(coins.removeIndex(index));
     }
 
-    /** Updates the cooldown time by decreasing it with the given deltatime until it reaches 0. */
-    private void updateCooldownTime(float deltaTime){
-        cooldownTime -= deltaTime;
-
-        // Set firmly to 0 when cooldown time becomes 0 or less
-        if (cooldownTime <= 0){
-            cooldownTime = 0;
-        }
+    /** Get the distance all coins moved during the latest simulation step. Can be used for render interpolation. */
+    public float getStepDistance() {
+        return stepDistance;
     }
 
-    /** Generate coins at random. After each cooldown time, there is a 50% chance a new coin will spawn.
-    * Spawn logic ensures the position of each coin will be reachable for the player to some extent.
-    */
-    public void generateCoins(float deltaTime){
-        updateCooldownTime(deltaTime); // Decrease cooldown time by deltatime
-
-        // When cooldown time reaches 0, check to see if a new coin should be spawned
-        if (cooldownTime == 0) {
-
-            // 50% chance of spawning coin on new tile
-            if (random.nextFloat() < 0.5f) {
-                float screenRightEdge = Main.WORLD_WIDTH; // Gets the x-position of the right edge of the screen
-                tileXPositions = tiles.getXPositions();  // Get x-positions of all active tiles (including buffer tiles)
-                tileYPositions = tiles.getYPositions();  // Get y-positions of all active tiles (including buffer tiles)
-
-                float coinX = screenRightEdge;  // X-position of all coins will always be at the right edge of the screen
-                float coinY = getNewCoinHeight();  // Sets a randomly generated height for the coin (within reachable distance)
-
-                // Add new Coin object to coins array with given positions
-                coins.add(new Coin(coinX, coinY, coinWidth, coinHeight));
-
-                generateNewCooldownTime(); // Generate new cooldown time (Up to 5s)
-            }
-
-            // As long as the coins array is not empty, remove any coins that has gone beyond the left edge from array
-            while (!coins.isEmpty() && coins.first().getX() + coinWidth < 0) {
-                coins.removeIndex(0);
-            }
-
-        }
+    /**
+     * Add a coin to the right of all current coins.
+     * @param coinX X-position of the coin. Must not be smaller than the X-position of the latest coin.
+     * @param coinY Y-position of the coin.
+     */
+    public void spawnCoin(float coinX, float coinY) {
+        Coin coin = coinPool.obtain();
+        coin.init(coinX, coinY, coinWidth, coinHeight);
+        coins.add(coin);
     }
 
-    /** Generates a new Y-position that is within the given vertical limits for a coin. */
-    private float getNewCoinHeight() {
-        tileYPositions = tiles.getYPositions(); // Get Y-positions of all currently active tiles
-
-        float randomHeightPosition;
-
-        do {
-            // Mininum height set to height of latest tile + 50
-            minHeight = tileYPositions.peek() + 50;
-
-            // Generate a random number between minHeight and maxHeight
-            randomHeightPosition = minHeight + random.nextFloat() * (maxHeight - minHeight);
-
+    /** Return coins that have moved off-screen to the pool. New coins are added by {@link LevelStream}. */
+    public void removeOffscreenCoins() {
+        // As long as the coins array is not empty, return any coins that has gone beyond the left edge to the pool
+        while (!coins.isEmpty() && coins.first().getX() + coinWidth < 0) {
+            coinPool.free(coins.removeIndex(0));
         }
-        // Loop until the randomly generated height is within the specified range
-        while (randomHeightPosition > maxHeight || randomHeightPosition < minHeight);
-
-        return randomHeightPosition;
     }
 
     /** Updates X-positions of all coins */
     public void moveCoins(float deltaTime) {
+        stepDistance = backgroundSpeed * deltaTime;
+
         // For-loop to re-position all currently active coins to the left in accordance with the background speed
-        for (Coin coin : coins) {
-            float updatedCoinX = coin.getX() - backgroundSpeed * deltaTime;
+        for (int i = 0; i < coins.size; i++) {
+            Coin coin = coins.get(i);
+            float updatedCoinX = coin.getX() - stepDistance;
             coin.setX(updatedCoinX);
         }
     }
 
-    /** Update the animation time which controls animation of the coins. */
-    public void updateAnimationTime(float deltaTime){
-        // Update animation time
-        animationTime += deltaTime;
-    }
-
-    /**
-     * Draw coin animation.
-     * @param coin Coin object to be drawn.
-     */
-    private void drawCoinAnimation(Coin coin) {
-        TextureRegion atlasFrame;
-        atlasFrame = coin.getAnimation().getKeyFrame(animationTime, true); // Looping set to true
-
-        // Draw the current frame
-        spriteBatch.draw(atlasFrame, coin.getX(), coin.getY(), coin.getWidth(), coin.getHeight());
-    }
-
-    /** Reset array of coins and the cooldown time for the coins spawn */
+    /** Reset array of coins */
     @Override
     public void reset(){
+        coinPool.freeAll(coins); // Return all active coins to the pool
         coins.clear(); // Clear coin objects from array
-        cooldownTime = 2f; // Reset cooldownTime to its default
+        stepDistance = 0;
     }
 }
@@ -0,0 +1,19 @@
+package com.twodstudios.platformjumper;
+
+import jdk.jfr.Event;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event recorded each time a coin is collected. */
+@Name("platformjumper.CoinPickup")
+@Label("Coin Pickup")
+@Category({"PlatformJumper", "Gameplay"})
+@Description("The player collected a coin.")
+public class CoinPickupEvent extends Event {
+
+    @Label("Score")
+    @Description("Score after collecting the coin.")
+    public int score;
+}
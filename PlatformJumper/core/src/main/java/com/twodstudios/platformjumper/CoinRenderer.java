@@ -0,0 +1,69 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+import static com.twodstudios.platformjumper.AnimationManager.*;
+
+/** Draws the coins managed by a {@link CoinManager} using one animation shared by all coins. Coins outside the view are skipped. */
+public class CoinRenderer {
+
+    private final Batch spriteBatch;
+    private final CoinManager coinManager;
+    private final ViewCuller viewCuller;
+    private float animationTime;
+
+    // Coin animation shared by all coins
+    private final TextureRegion[] textureRegions = new TextureRegion[10];
+    private final Animation<TextureRegion> animation;
+
+    /**
+     * Create a new instance of CoinRenderer.
+     * @param spriteBatch Spritebatch that handles drawing in the game.
+     * @param coinManager Coin manager holding the coins to be drawn.
+     * @param viewCuller View to skip the coins outside of.
+     * @param assets Asset service with the game assets loaded.
+     */
+    public CoinRenderer(Batch spriteBatch, CoinManager coinManager, ViewCuller viewCuller, Assets assets) {
+        this.spriteBatch = spriteBatch;
+        this.coinManager = coinManager;
+        this.viewCuller = viewCuller;
+        this.animationTime = 0f;
+
+        // Get the atlas containing the coin image
+        TextureAtlas atlas = assets.getAtlas(Assets.GAMEPLAY_ATLAS);
+
+        // Create coin animation
+        animation = createAnimation(atlas, textureRegions, "coin", 1/10f);
+        animation.setPlayMode(Animation.PlayMode.LOOP); // Set animation in loop-mode
+    }
+
+    /** Update the animation time which controls animation of the coins. */
+    public void updateAnimationTime(float deltaTime){
+        // Update animation time
+        animationTime += deltaTime;
+    }
+
+    /**
+     * Draws all currently active coins that are in view.
+     * @param alpha Interpolation factor (0-1) between the position before and after the latest simulation step.
+     */
+    public void drawCoins(float alpha){
+        float interpolationOffset = coinManager.getStepDistance() * (1 - alpha); // All coins move equally, so one offset fits all
+        TextureRegion atlasFrame = animation.getKeyFrame(animationTime, true); // Looping set to true
+        Array<Coin> coins = coinManager.getCoins();
+
+        for (int i = 0; i < coins.size; i++) {
+            Coin coin = coins.get(i);
+            float x = coin.getX() + interpolationOffset;
+
+            // Draw the current frame
+            if (viewCuller.isVisible(x, coin.getY(), coin.getWidth(), coin.getHeight())) {
+                spriteBatch.draw(atlasFrame, x, coin.getY(), coin.getWidth(), coin.getHeight());
+            }
+        }
+    }
+}
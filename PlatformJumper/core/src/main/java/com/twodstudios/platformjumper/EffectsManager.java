@@ -1,128 +1,104 @@
 package com.twodstudios.platformjumper;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.ParticleEffect;
-import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
 
-/** Manages all ParticleEffect objects.*/
+/** Manages all particle effects of a screen using a {@link ParticleSystem}. */
 public class EffectsManager implements Resettable <EffectsManager>{
-    private final SpriteBatch spriteBatch;
 
-    // Particle effects
-    private ParticleEffect sparklesParticleEffect;
-    private ParticleEffect lavaExplosionParticleEffect;
-    private ParticleEffect mainMenuParticleEffect;
-    private boolean explosionStarted; // Flag to ensure the lava explosion plays only once
+    // Names of the effect prototypes
+    private static final String FIRE_SPARKLES = "fire_sparkles";
+    private static final String LAVA_EXPLOSION = "lava_explosion";
+    private static final String MAIN_MENU_SPARKLES = "main_menu_sparkles";
+
+    private static final int PARTICLE_BUDGET = 2000; // Room for the sparkles and three lava explosions at once
+
+    private final Assets assets;
+    private final ParticleSystem particleSystem;
+
+    // Continuous particle effects
+    private PooledEffect sparklesParticleEffect;
+    private PooledEffect mainMenuParticleEffect;
 
     /**
      * Create a new instance of EffectsManager to manage ParticleEffect objects.
      * @param spriteBatch Spritebatch that handles drawing in the game.
+     * @param assets Asset service with the particle effects of the current screen loaded.
      */
-    public EffectsManager(SpriteBatch spriteBatch) {
-        this.spriteBatch = spriteBatch;
+    public EffectsManager(Batch spriteBatch, Assets assets) {
+        this.assets = assets;
+        this.particleSystem = new ParticleSystem(spriteBatch, PARTICLE_BUDGET);
     }
 
-    /** Initialize fire sparkles effect if it hasn't been created already. */
-    private ParticleEffect getFireSparklesEffect() {
-        // If the sparklesParticleEffect hasn't been created, it will be created
-        if (sparklesParticleEffect == null) {
-            sparklesParticleEffect = new ParticleEffect();
-            sparklesParticleEffect.load(Gdx.files.internal("effects/lava_sparkles.p"), Gdx.files.internal("effects")); // Load asset
-            sparklesParticleEffect.setPosition(Gdx.graphics.getWidth() / 2f, Gdx.graphics.getHeight() - 150); // Position the effect
-            ParticleEmitter sparklesEmitter =  sparklesParticleEffect.getEmitters().first(); // Get and store the particle emitter
-            sparklesEmitter.setPosition(Gdx.graphics.getWidth() / 2f, 120);  // Position the emitter
-            // Adjust emitter settings
-            sparklesParticleEffect.scaleEffect(1.2f); // Scale effect by 20%
-        }
-        return sparklesParticleEffect;
+    /** Set the view the effects are drawn in, so that effects outside of it are not drawn. */
+    public void setViewCuller(ViewCuller viewCuller) {
+        particleSystem.setViewCuller(viewCuller);
     }
 
-    /** Initialize lava explosion effect if it hasn't been created already. */
-    private ParticleEffect getLavaExplosionParticleEffect() {
-        // If the lavaExplosionParticleEffect hasn't been created, it will be created
-        if (lavaExplosionParticleEffect == null) {
-            lavaExplosionParticleEffect = new ParticleEffect();
-            lavaExplosionParticleEffect.load(Gdx.files.internal("effects/lava_explosion.p"), Gdx.files.internal("effects")); // Load asset
-            lavaExplosionParticleEffect.setPosition(0, 0); // Position the effect
-            ParticleEmitter lavaExplosionEmitter = lavaExplosionParticleEffect.getEmitters().first(); // Get and store the particle emitter
-            lavaExplosionParticleEffect.scaleEffect(2f); // Scale effect by 100%
-            explosionStarted = false; // Flag to ensure the lava explosion plays only once
+    /** Start fire sparkles effect if it hasn't been started already. */
+    private PooledEffect getFireSparklesEffect() {
+        if (sparklesParticleEffect == null) {
+            particleSystem.addPrototype(FIRE_SPARKLES, assets.getParticleEffect(Assets.LAVA_SPARKLES_EFFECT), 1.2f, 1); // Scale effect by 20%
+            sparklesParticleEffect = particleSystem.obtain(FIRE_SPARKLES, Main.WORLD_WIDTH / 2f, 120);
         }
-        return lavaExplosionParticleEffect;
+        return sparklesParticleEffect;
     }
 
-    /** Initialize main menu sparkles effect if it hasn't been created already. */
-    private ParticleEffect getMainMenuParticleEffect() {
-        // If the mainMenuParticleEffect hasn't been created, it will be created
+    /** Start main menu sparkles effect if it hasn't been started already. */
+    private PooledEffect getMainMenuParticleEffect() {
         if (mainMenuParticleEffect == null) {
-            mainMenuParticleEffect = new ParticleEffect();
-            mainMenuParticleEffect.load(Gdx.files.internal("effects/main_menu_sparkles.p"), Gdx.files.internal("effects")); // Load asset
-            mainMenuParticleEffect.setPosition(Gdx.graphics.getWidth() / 2f, Gdx.graphics.getHeight() - 150); // Position the effect
-            ParticleEmitter mainMenuSparklesEmitter =  mainMenuParticleEffect.getEmitters().first(); // Get and store the particle emitter
-            mainMenuSparklesEmitter.setPosition(Gdx.graphics.getWidth() / 2f, Main.WORLD_HEIGHT / 2);  // Position the emitter
-            // Adjust emitter settings
-            mainMenuParticleEffect.scaleEffect(1.5f); // Scale effect by 20%
+            particleSystem.addPrototype(MAIN_MENU_SPARKLES, assets.getParticleEffect(Assets.MAIN_MENU_SPARKLES_EFFECT), 1.5f, 1); // Scale effect by 50%
+            mainMenuParticleEffect = particleSystem.obtain(MAIN_MENU_SPARKLES, Main.WORLD_WIDTH / 2f, Main.WORLD_HEIGHT / 2);
         }
         return mainMenuParticleEffect;
     }
 
-
-
     /** Draw continuous fire sparkles. */
     public void drawSparkles(float deltaTime){
-        sparklesParticleEffect = getFireSparklesEffect(); // Initialize the effect
-        sparklesParticleEffect.draw(spriteBatch, deltaTime); // Draw continuous particle effect
-    }
-
-    /** Draw a lava explosion. */
-    public void drawLavaExplosion(float deltaTime, float xPosition, float yPosition){
-        lavaExplosionParticleEffect = getLavaExplosionParticleEffect(); // Initialize the effect
-
-        // If explosion has not been started before it starts
-        if (!explosionStarted) {
-            explosionStarted = true;
-
-            // Set position of lava explosion and start the effect
-            lavaExplosionParticleEffect.setPosition(xPosition, yPosition);
-            lavaExplosionParticleEffect.start();
+        PooledEffect effect = getFireSparklesEffect();
+        if (effect != null) {
+            particleSystem.drawEffect(effect, deltaTime); // Draw continuous particle effect
         }
-
-        lavaExplosionParticleEffect.draw(spriteBatch, deltaTime); // Draw lava explosion effect
     }
 
     /** Draw continuous main menu sparkles. */
     public void drawMainMenuParticles(float deltaTime){
-        mainMenuParticleEffect = getMainMenuParticleEffect();
-        mainMenuParticleEffect.draw(spriteBatch, deltaTime); // Draw continuous particle effect
+        PooledEffect effect = getMainMenuParticleEffect();
+        if (effect != null) {
+            particleSystem.drawEffect(effect, deltaTime); // Draw continuous particle effect
+        }
     }
 
-    /** Reset the lava explosion animation. */
-    private void resetLavaExplosion(){
-        explosionStarted = false;
-        if (lavaExplosionParticleEffect != null){
-            lavaExplosionParticleEffect.reset();
-            lavaExplosionParticleEffect.scaleEffect(2f);
-        }
+    /**
+     * Start a lava explosion. It is drawn by {@link #drawEffects} until it has finished.
+     * @param xPosition X position in world units.
+     * @param yPosition Y position in world units.
+     */
+    public void spawnLavaExplosion(float xPosition, float yPosition){
+        particleSystem.addPrototype(LAVA_EXPLOSION, assets.getParticleEffect(Assets.LAVA_EXPLOSION_EFFECT), 2f, 3); // Scale effect by 100%, once
+        particleSystem.spawn(LAVA_EXPLOSION, xPosition, yPosition);
+    }
 
+    /** Draw all one-shot effects, such as lava explosions. */
+    public void drawEffects(float deltaTime){
+        particleSystem.draw(deltaTime);
     }
 
     public void dispose(){
-        if(mainMenuParticleEffect != null){
-            mainMenuParticleEffect.dispose();
+        if (sparklesParticleEffect != null) {
+            particleSystem.free(sparklesParticleEffect);
+            sparklesParticleEffect = null;
         }
-
-        if(sparklesParticleEffect != null) {
-            sparklesParticleEffect.dispose();
-        }
-
-        if(lavaExplosionParticleEffect != null) {
-            lavaExplosionParticleEffect.dispose();
+        if (mainMenuParticleEffect != null) {
+            particleSystem.free(mainMenuParticleEffect);
+            mainMenuParticleEffect = null;
         }
+        particleSystem.dispose();
     }
 
+    /** Stop all one-shot effects, such as the lava explosion. */
     @Override
     public void reset() {
-        resetLavaExplosion();
+        particleSystem.clear();
     }
 }
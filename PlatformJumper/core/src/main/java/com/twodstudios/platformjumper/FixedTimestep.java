@@ -0,0 +1,95 @@
+package com.twodstudios.platformjumper;
+
+/**
+ * Accumulator for running the game simulation in fixed time steps independently of the frame rate.
+ * Each frame the elapsed time is added to the accumulator and the amount of whole steps that fit is returned.
+ * The leftover time is exposed as an interpolation factor so rendering can blend between the previous and current state.
+ */
+public class FixedTimestep {
+
+    private float stepTime; // Duration of one simulation step in seconds
+    private int maxStepsPerFrame; // Upper limit of steps per frame to avoid a spiral of death after a long frame
+    private float accumulator; // Time that has passed but not yet been simulated
+    private float alpha; // Interpolation factor between the previous and current simulation state
+
+    /**
+     * Create a new FixedTimestep.
+     * @param tickRate Amount of simulation steps per second, e.g. 60 or 120.
+     * @param maxStepsPerFrame Maximum amount of steps that can be simulated in a single frame.
+     */
+    public FixedTimestep(float tickRate, int maxStepsPerFrame) {
+        setTickRate(tickRate);
+        setMaxStepsPerFrame(maxStepsPerFrame);
+    }
+
+    /**
+     * Add the time of the latest frame and get the amount of simulation steps to run this frame.
+     * Time that can't be simulated because of the step limit is dropped.
+     * @param deltaTime Time since the last frame in seconds.
+     */
+    public int advance(float deltaTime) {
+        accumulator += deltaTime;
+
+        int steps = 0;
+        while (accumulator >= stepTime && steps < maxStepsPerFrame) {
+            accumulator -= stepTime;
+            steps++;
+        }
+
+        // Drop any time that is left after reaching the step limit so that the simulation catches up
+        if (accumulator >= stepTime) {
+            accumulator %= stepTime;
+        }
+
+        alpha = accumulator / stepTime;
+        return steps;
+    }
+
+    /** Clear any accumulated time. Use when the simulation is not running, e.g. while paused. */
+    public void reset() {
+        accumulator = 0;
+        alpha = 0;
+    }
+
+    /** Get the duration of one simulation step in seconds. */
+    public float getStepTime() {
+        return stepTime;
+    }
+
+    /**
+     * Get how long before the end of the latest frame a step of the latest {@link #advance} ends, in seconds. The
+     * last step ends one accumulator before the end of the frame, since the accumulated time is simulated later.
+     * @param step Index of the step, from 0 to the amount of steps returned by advance.
+     * @param steps Amount of steps returned by advance.
+     */
+    public float getTimeAfterStep(int step, int steps) {
+        return accumulator + (steps - 1 - step) * stepTime;
+    }
+
+    /** Get the interpolation factor (0-1) between the previous and the current simulation state. */
+    public float getAlpha() {
+        return alpha;
+    }
+
+    /**
+     * Set the amount of simulation steps per second.
+     * @param tickRate Amount of simulation steps per second. Must be larger than 0.
+     */
+    public void setTickRate(float tickRate) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate must be larger than 0: " + tickRate);
+        }
+        this.stepTime = 1f / tickRate;
+    }
+
+    /**
+     * Set the maximum amount of simulation steps per frame.
+     * @param maxStepsPerFrame Maximum amount of steps. Must be at least 1.
+     */
+    public void setMaxStepsPerFrame(int maxStepsPerFrame) {
+        if (maxStepsPerFrame < 1) {
+            throw new IllegalArgumentException("Max steps per frame must be at least 1: " + maxStepsPerFrame);
+        }
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+}
@@ -0,0 +1,119 @@
+package com.twodstudios.platformjumper;
+
+/**
+ * Growable ring buffer of primitive floats. Elements are added at the tail and removed from the head in O(1)
+ * without boxing or shifting. The capacity is always a power of two so that indices can be wrapped with a mask.
+ */
+public class FloatRingBuffer {
+
+    private float[] items;
+    private int mask;
+    private int head; // Index of the first element
+    private int size; // Amount of elements currently stored
+
+    /**
+     * Create a ring buffer with room for at least the given amount of elements.
+     * @param initialCapacity Minimum capacity. Rounded up to the nearest power of two.
+     */
+    public FloatRingBuffer(int initialCapacity) {
+        int capacity = nextPowerOfTwo(Math.max(initialCapacity, 2));
+        this.items = new float[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /** Add a value at the end of the buffer. Only allocates when the buffer is full and has to grow. */
+    public void add(float value) {
+        if (size == items.length) {
+            grow();
+        }
+        items[(head + size) & mask] = value;
+        size++;
+    }
+
+    /** Remove and return the first value of the buffer. */
+    public float removeFirst() {
+        if (size == 0) {
+            throw new IllegalStateException("Buffer is empty.");
+        }
+        float value = items[head];
+        head = (head + 1) & mask;
+        size--;
+        return value;
+    }
+
+    /** Get the value at the given index, where 0 is the first (oldest) value. */
+    public float get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+        }
+        return items[(head + index) & mask];
+    }
+
+    /** Replace the value at the given index, where 0 is the first (oldest) value. */
+    public void set(int index, float value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+        }
+        items[(head + index) & mask] = value;
+    }
+
+    /** Add the given amount to every value in the buffer. */
+    public void addToAll(float amount) {
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) & mask;
+            items[index] += amount;
+        }
+    }
+
+    /** Get the first (oldest) value of the buffer. */
+    public float first() {
+        if (size == 0) {
+            throw new IllegalStateException("Buffer is empty.");
+        }
+        return items[head];
+    }
+
+    /** Get the last (newest) value of the buffer. */
+    public float peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Buffer is empty.");
+        }
+        return items[(head + size - 1) & mask];
+    }
+
+    /** Get the amount of values currently in the buffer. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Get the current capacity of the buffer. */
+    public int capacity() {
+        return items.length;
+    }
+
+    /** Remove all values. Keeps the current capacity. */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /** Double the capacity and unwrap the stored values to the start of the new array. */
+    private void grow() {
+        float[] newItems = new float[items.length << 1];
+        for (int i = 0; i < size; i++) {
+            newItems[i] = items[(head + i) & mask];
+        }
+        items = newItems;
+        mask = newItems.length - 1;
+        head = 0;
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        int highestBit = Integer.highestOneBit(value);
+        return highestBit == value ? value : highestBit << 1;
+    }
+}
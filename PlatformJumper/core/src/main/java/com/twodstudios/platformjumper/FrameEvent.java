@@ -0,0 +1,37 @@
+package com.twodstudios.platformjumper;
+
+import jdk.jfr.Event;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning a whole frame of the play screen. Recorded by {@link FrameProfiler}. */
+@Name("platformjumper.Frame")
+@Label("Frame")
+@Category({"PlatformJumper", "Frame"})
+@Description("One rendered frame of the game.")
+@StackTrace(false) // Recorded every frame, stack traces would only add overhead
+public class FrameEvent extends Event {
+
+    @Label("Frame")
+    @Description("Number of the frame since the play screen was shown.")
+    public long frame;
+
+    @Label("Render Calls")
+    @Description("SpriteBatch render calls during the frame.")
+    public int renderCalls;
+
+    @Label("GC Count")
+    @Description("Garbage collections during the frame.")
+    public long gcCount;
+
+    @Label("Drawn Sprites")
+    @Description("World sprites, layers and effects that were in view and drawn.")
+    public int drawnSprites;
+
+    @Label("Culled Sprites")
+    @Description("World sprites, layers and effects that were outside the view and skipped.")
+    public int culledSprites;
+}
@@ -0,0 +1,25 @@
+package com.twodstudios.platformjumper;
+
+import jdk.jfr.Event;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning one {@link FrameProfiler.Phase} of a frame. Recorded by {@link FrameProfiler}. */
+@Name("platformjumper.FramePhase")
+@Label("Frame Phase")
+@Category({"PlatformJumper", "Frame"})
+@Description("One phase of a rendered frame, such as the simulation or drawing the HUD.")
+@StackTrace(false) // Recorded every frame, stack traces would only add overhead
+public class FramePhaseEvent extends Event {
+
+    @Label("Phase")
+    @Description("Name of the phase.")
+    public String phase;
+
+    @Label("Frame")
+    @Description("Number of the frame the phase belongs to.")
+    public long frame;
+}
@@ -0,0 +1,128 @@
+package com.twodstudios.platformjumper;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams the frames recorded by a {@link FrameProfiler} to a CSV file on its own thread, for offline analysis.
+ * The writer polls the ring buffer of the profiler, so the render thread never waits for the file. Frames that are
+ * overwritten before the writer gets to them are skipped and counted as dropped.
+ */
+public class FrameProfileCsvWriter implements Runnable {
+
+    private static final long POLL_NANOS = 100_000_000L; // Time between writes
+
+    private final FrameProfiler profiler;
+    private final File file;
+    private final long[] row = new long[FrameProfiler.COLUMN_COUNT]; // Reused buffer for the frame being written
+    private Thread thread;
+    private volatile boolean running;
+    private volatile long droppedFrames; // Only written by the writer thread
+
+    /**
+     * Create a new FrameProfileCsvWriter.
+     * @param profiler Profiler to read frames from.
+     * @param file File to write to. An existing file is overwritten.
+     */
+    public FrameProfileCsvWriter(FrameProfiler profiler, File file) {
+        this.profiler = profiler;
+        this.file = file;
+    }
+
+    /** Start writing frames recorded from now on, on a new daemon thread. */
+    public void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "frame-profile-csv-writer");
+        thread.setDaemon(true); // Never keep the application alive
+        thread.start();
+    }
+
+    /** Stop writing, write the remaining frames and wait for the thread to finish. */
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        long nextFrame = profiler.getFrameCount();
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writeHeader(writer);
+
+            boolean writing = true;
+            while (writing) {
+                writing = running; // Write the remaining frames once more after being stopped
+                long frameCount = profiler.getFrameCount();
+
+                // Skip frames the render thread has already overwritten
+                if (frameCount - nextFrame > profiler.getCapacity()) {
+                    droppedFrames += frameCount - profiler.getCapacity() - nextFrame;
+                    nextFrame = frameCount - profiler.getCapacity();
+                }
+
+                for (; nextFrame < frameCount; nextFrame++) {
+                    if (profiler.copyFrame(nextFrame, row)) {
+                        writeRow(writer, nextFrame);
+                    } else {
+                        droppedFrames++;
+                    }
+                }
+                writer.flush();
+
+                if (writing) {
+                    LockSupport.parkNanos(this, POLL_NANOS);
+                }
+            }
+        } catch (IOException exception) {
+            System.err.println("Could not write frame profile to " + file + ": " + exception.getMessage());
+        }
+    }
+
+    private void writeHeader(Writer writer) throws IOException {
+        writer.write("frame,frame_ns");
+        for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+            writer.write(',');
+            writer.write(phase.name().toLowerCase());
+            writer.write("_ns");
+        }
+        writer.write(",render_calls,gc_count,drawn,culled\n");
+    }
+
+    private void writeRow(Writer writer, long frameNumber) throws IOException {
+        writer.write(Long.toString(frameNumber));
+        for (long value : row) {
+            writer.write(',');
+            writer.write(Long.toString(value));
+        }
+        writer.write('\n');
+    }
+
+    /** Get the file frames are written to. */
+    public File getFile() {
+        return file;
+    }
+
+    /** Get the amount of frames that were overwritten before they could be written. */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+}
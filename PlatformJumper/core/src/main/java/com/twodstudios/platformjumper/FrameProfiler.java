@@ -0,0 +1,222 @@
+package com.twodstudios.platformjumper;
+
+import jdk.jfr.EventType;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long each phase of a frame takes. Timings are stored in nanoseconds in a preallocated ring buffer
+ * holding the latest frames, so recording does not allocate. Each recorded frame holds the total frame time, the
+ * time of each {@link Phase}, the amount of SpriteBatch render calls, the amount of garbage collections and the
+ * amount of sprites drawn and culled by the {@link ViewCuller}.
+ * <p>
+ * Frames are recorded on the render thread. Other threads may read recorded frames with {@link #copyFrame(long, long[])}.
+ * <p>
+ * While a flight recording with {@link FrameEvent} or {@link FramePhaseEvent} enabled is running, frames and phases
+ * are also recorded as JFR events. Otherwise no events are created.
+ */
+public class FrameProfiler {
+
+    /** Phases of a frame that are timed separately. */
+    public enum Phase {
+        SIMULATION, // Fixed simulation steps, including physics and collision checks
+        BACKGROUND, // Parallax background and ground
+        WORLD, // Tiles, coins, logo and player
+        EFFECTS, // Particle effects
+        FLUSH, // Sending the remaining sprites of the batch to the GPU
+        HUD,
+        GAME_OVER_HUD
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final EventType FRAME_EVENT_TYPE = EventType.getEventType(FrameEvent.class);
+    private static final EventType FRAME_PHASE_EVENT_TYPE = EventType.getEventType(FramePhaseEvent.class);
+
+    // Columns of a recorded frame
+    public static final int FRAME_TIME_COLUMN = 0;
+    public static final int RENDER_CALLS_COLUMN = PHASES.length + 1;
+    public static final int GC_COUNT_COLUMN = PHASES.length + 2;
+    public static final int DRAWN_COLUMN = PHASES.length + 3;
+    public static final int CULLED_COLUMN = PHASES.length + 4;
+    public static final int COLUMN_COUNT = PHASES.length + 5;
+
+    private final int capacity;
+    private final int mask;
+    private final long[] frames; // Ring buffer of recorded frames, COLUMN_COUNT values per frame
+    private final AtomicLong frameCount = new AtomicLong(); // Amount of recorded frames, only written by the render thread
+
+    // State of the frame being recorded
+    private final long[] phaseStartTimes = new long[PHASES.length];
+    private final long[] phaseTimes = new long[PHASES.length];
+    private long frameStartTime;
+    private int frameStartRenderCalls;
+    private long frameStartGcCount;
+    private int drawnCount;
+    private int culledCount;
+    private FrameEvent frameEvent; // Null while frame events are disabled
+    private final FramePhaseEvent[] phaseEvents = new FramePhaseEvent[PHASES.length]; // Null while phase events are disabled
+
+    private final GarbageCollectorMXBean[] garbageCollectors;
+
+    /**
+     * Create a new FrameProfiler.
+     * @param capacity Amount of frames to keep. Must be a power of two.
+     */
+    public FrameProfiler(int capacity) {
+        if (capacity < 1 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.frames = new long[capacity * COLUMN_COUNT];
+
+        List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+        this.garbageCollectors = beans.toArray(new GarbageCollectorMXBean[0]);
+    }
+
+    /**
+     * Start recording a new frame.
+     * @param totalRenderCalls Current value of {@code SpriteBatch.totalRenderCalls}.
+     */
+    public void beginFrame(int totalRenderCalls) {
+        Arrays.fill(phaseTimes, 0);
+        drawnCount = 0;
+        culledCount = 0;
+        frameStartRenderCalls = totalRenderCalls;
+        frameStartGcCount = getGcCount();
+        if (FRAME_EVENT_TYPE.isEnabled()) {
+            frameEvent = new FrameEvent();
+            frameEvent.begin();
+        }
+        frameStartTime = System.nanoTime();
+    }
+
+    /** Start timing a phase of the current frame. */
+    public void begin(Phase phase) {
+        if (FRAME_PHASE_EVENT_TYPE.isEnabled()) {
+            FramePhaseEvent event = new FramePhaseEvent();
+            event.begin();
+            phaseEvents[phase.ordinal()] = event;
+        }
+        phaseStartTimes[phase.ordinal()] = System.nanoTime();
+    }
+
+    /** Stop timing a phase of the current frame. A phase may be timed several times per frame. */
+    public void end(Phase phase) {
+        phaseTimes[phase.ordinal()] += System.nanoTime() - phaseStartTimes[phase.ordinal()];
+
+        FramePhaseEvent event = phaseEvents[phase.ordinal()];
+        if (event != null) {
+            phaseEvents[phase.ordinal()] = null;
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase.name();
+                event.frame = frameCount.get();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Set the amount of sprites drawn and culled during the current frame.
+     * @param drawnCount Sprites that were in view and drawn.
+     * @param culledCount Sprites that were outside the view and skipped.
+     */
+    public void setCullingCounts(int drawnCount, int culledCount) {
+        this.drawnCount = drawnCount;
+        this.culledCount = culledCount;
+    }
+
+    /**
+     * Finish the current frame and store it in the ring buffer.
+     * @param totalRenderCalls Current value of {@code SpriteBatch.totalRenderCalls}.
+     */
+    public void endFrame(int totalRenderCalls) {
+        long frameTime = System.nanoTime() - frameStartTime;
+        long frameNumber = frameCount.get();
+        int offset = (int) (frameNumber & mask) * COLUMN_COUNT;
+
+        frames[offset + FRAME_TIME_COLUMN] = frameTime;
+        for (int i = 0; i < PHASES.length; i++) {
+            frames[offset + 1 + i] = phaseTimes[i];
+        }
+        frames[offset + RENDER_CALLS_COLUMN] = totalRenderCalls - frameStartRenderCalls;
+        frames[offset + GC_COUNT_COLUMN] = getGcCount() - frameStartGcCount;
+        frames[offset + DRAWN_COLUMN] = drawnCount;
+        frames[offset + CULLED_COLUMN] = culledCount;
+
+        if (frameEvent != null) {
+            frameEvent.end();
+            if (frameEvent.shouldCommit()) {
+                frameEvent.frame = frameNumber;
+                frameEvent.renderCalls = (int) frames[offset + RENDER_CALLS_COLUMN];
+                frameEvent.gcCount = frames[offset + GC_COUNT_COLUMN];
+                frameEvent.drawnSprites = drawnCount;
+                frameEvent.culledSprites = culledCount;
+                frameEvent.commit();
+            }
+            frameEvent = null;
+        }
+
+        frameCount.lazySet(frameNumber + 1); // Publish the frame to other threads
+    }
+
+    /** Get the total amount of garbage collections since the JVM started. */
+    public long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+            count += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return count;
+    }
+
+    /** Get the amount of frames recorded since the profiler was created. */
+    public long getFrameCount() {
+        return frameCount.get();
+    }
+
+    /** Get the amount of frames kept in the ring buffer. */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Get the column of a phase in a recorded frame. */
+    public static int getColumn(Phase phase) {
+        return 1 + phase.ordinal();
+    }
+
+    /**
+     * Copy a recorded frame. Can be called from any thread.
+     * @param frameNumber Number of the frame, counted from 0.
+     * @param output Array of at least {@link #COLUMN_COUNT} values to copy the frame into.
+     * @return False if the frame is not recorded yet or has already been overwritten.
+     */
+    public boolean copyFrame(long frameNumber, long[] output) {
+        if (frameNumber >= frameCount.get()) {
+            return false;
+        }
+        System.arraycopy(frames, (int) (frameNumber & mask) * COLUMN_COUNT, output, 0, COLUMN_COUNT);
+
+        // Make sure the render thread did not overwrite the frame while it was copied
+        return frameCount.get() - frameNumber < capacity;
+    }
+
+    /**
+     * Get a value of a recorded frame. Render thread only.
+     * @param framesAgo 0 for the latest frame, 1 for the one before and so on.
+     * @param column Column of the value.
+     */
+    public long getValue(int framesAgo, int column) {
+        long frameNumber = frameCount.get() - 1 - framesAgo;
+        return frames[(int) (frameNumber & mask) * COLUMN_COUNT + column];
+    }
+
+    /** Get the amount of recorded frames currently held by the ring buffer. */
+    public int getRecordedFrames() {
+        return (int) Math.min(frameCount.get(), capacity);
+    }
+}
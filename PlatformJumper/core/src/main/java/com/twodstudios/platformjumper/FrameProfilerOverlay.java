@@ -0,0 +1,212 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+import java.util.Arrays;
+
+/**
+ * Draws the frames recorded by a {@link FrameProfiler} on top of the game: a histogram of frame times, the median,
+ * 99th percentile and maximum frame time, the average time of each phase, garbage collections, render calls and
+ * the sprites drawn and culled.
+ * Statistics are recomputed a few times per second into preallocated arrays, so drawing the overlay does not allocate.
+ */
+public class FrameProfilerOverlay implements Disposable {
+
+    private static final FrameProfiler.Phase[] PHASES = FrameProfiler.Phase.values();
+    private static final int BUCKET_COUNT = 34; // One bucket per millisecond, the last bucket holds all slower frames
+    private static final int UPDATE_INTERVAL = 15; // Frames between statistics updates
+
+    private final FrameProfiler profiler;
+    private final SpriteBatch spriteBatch;
+    private final ShapeRenderer shapeRenderer;
+    private final BitmapFont font;
+    private final OrthographicCamera camera;
+    private final Viewport viewport;
+    private final StringBuilder text = new StringBuilder(256);
+
+    // Statistics of the frames in the ring buffer
+    private final long[] sortedFrameTimes;
+    private final int[] buckets = new int[BUCKET_COUNT];
+    private final long[] phaseTotals = new long[PHASES.length];
+    private int sampleCount;
+    private int largestBucket;
+    private long medianFrameTime;
+    private long percentile99FrameTime;
+    private long maxFrameTime;
+    private long gcCount; // Garbage collections during the frames in the ring buffer
+    private long renderCalls; // Render calls of the latest frame
+    private long drawnCount; // Sprites drawn in the latest frame
+    private long culledCount; // Sprites culled in the latest frame
+    private int framesSinceUpdate = UPDATE_INTERVAL;
+
+    private boolean visible;
+
+    // Overlay position and size
+    private final float x = 10;
+    private final float y = 10;
+    private final float width = 340;
+    private final float histogramHeight = 60;
+    private final float lineHeight = 16;
+
+    /**
+     * Create a new FrameProfilerOverlay.
+     * @param profiler Profiler to show the frames of.
+     * @param spriteBatch SpriteBatch to draw text with.
+     */
+    public FrameProfilerOverlay(FrameProfiler profiler, SpriteBatch spriteBatch) {
+        this.profiler = profiler;
+        this.spriteBatch = spriteBatch;
+        this.sortedFrameTimes = new long[profiler.getCapacity()];
+        this.shapeRenderer = new ShapeRenderer();
+        this.font = new BitmapFont(); // Built in font, so the overlay does not need any assets
+
+        this.camera = new OrthographicCamera();
+        this.viewport = new FitViewport(Main.WORLD_WIDTH, Main.WORLD_HEIGHT, camera);
+        this.camera.setToOrtho(false, Main.WORLD_WIDTH, Main.WORLD_HEIGHT);
+    }
+
+    /** Show or hide the overlay. */
+    public void toggle() {
+        visible = !visible;
+        framesSinceUpdate = UPDATE_INTERVAL; // Show current statistics right away
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /** Draw the overlay if it is visible. Must be called outside of SpriteBatch.begin() and end(). */
+    public void render() {
+        if (!visible || profiler.getRecordedFrames() == 0) {
+            return;
+        }
+        if (++framesSinceUpdate >= UPDATE_INTERVAL) {
+            framesSinceUpdate = 0;
+            updateStatistics();
+        }
+
+        viewport.apply();
+        float textHeight = lineHeight * (4 + PHASES.length);
+        float height = histogramHeight + textHeight + 20;
+
+        // Background and histogram
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(0f, 0f, 0f, 0.7f);
+        shapeRenderer.rect(x, y, width, height);
+
+        float barWidth = (width - 20) / BUCKET_COUNT;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (i < 16) {
+                shapeRenderer.setColor(0.3f, 0.9f, 0.3f, 1f); // Fast enough for 60 FPS
+            } else if (i < 33) {
+                shapeRenderer.setColor(1f, 0.75f, 0.1f, 1f); // Fast enough for 30 FPS
+            } else {
+                shapeRenderer.setColor(1f, 0.2f, 0.2f, 1f);
+            }
+            float barHeight = largestBucket > 0 ? histogramHeight * buckets[i] / largestBucket : 0;
+            shapeRenderer.rect(x + 10 + i * barWidth, y + 10, barWidth - 1, barHeight);
+        }
+        shapeRenderer.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+
+        // Text
+        spriteBatch.setProjectionMatrix(camera.combined);
+        spriteBatch.begin();
+        float lineY = y + height - 8;
+
+        text.setLength(0);
+        text.append("frame  p50 ");
+        appendMillis(medianFrameTime);
+        text.append("  p99 ");
+        appendMillis(percentile99FrameTime);
+        text.append("  max ");
+        appendMillis(maxFrameTime);
+        text.append(" ms");
+        font.draw(spriteBatch, text, x + 10, lineY);
+        lineY -= lineHeight;
+
+        text.setLength(0);
+        text.append("GC ").append(gcCount).append(" in ").append(sampleCount).append(" frames (total ")
+            .append(profiler.getGcCount()).append(")  render calls ").append(renderCalls);
+        font.draw(spriteBatch, text, x + 10, lineY);
+        lineY -= lineHeight;
+
+        text.setLength(0);
+        text.append("sprites drawn ").append(drawnCount).append("  culled ").append(culledCount);
+        font.draw(spriteBatch, text, x + 10, lineY);
+        lineY -= lineHeight;
+
+        font.draw(spriteBatch, "average per phase (ms):", x + 10, lineY);
+        lineY -= lineHeight;
+        for (int i = 0; i < PHASES.length; i++) {
+            text.setLength(0);
+            text.append("  ").append(PHASES[i].name()).append(' ');
+            appendMillis(phaseTotals[i] / sampleCount);
+            font.draw(spriteBatch, text, x + 10, lineY);
+            lineY -= lineHeight;
+        }
+        spriteBatch.end();
+    }
+
+    /** Recompute the statistics of the frames in the ring buffer of the profiler. */
+    private void updateStatistics() {
+        sampleCount = profiler.getRecordedFrames();
+        Arrays.fill(buckets, 0);
+        Arrays.fill(phaseTotals, 0);
+        gcCount = 0;
+
+        for (int i = 0; i < sampleCount; i++) {
+            long frameTime = profiler.getValue(i, FrameProfiler.FRAME_TIME_COLUMN);
+            sortedFrameTimes[i] = frameTime;
+            buckets[(int) Math.min(frameTime / 1_000_000L, BUCKET_COUNT - 1)]++;
+            for (int j = 0; j < PHASES.length; j++) {
+                phaseTotals[j] += profiler.getValue(i, FrameProfiler.getColumn(PHASES[j]));
+            }
+            gcCount += profiler.getValue(i, FrameProfiler.GC_COUNT_COLUMN);
+        }
+        renderCalls = profiler.getValue(0, FrameProfiler.RENDER_CALLS_COLUMN);
+        drawnCount = profiler.getValue(0, FrameProfiler.DRAWN_COLUMN);
+        culledCount = profiler.getValue(0, FrameProfiler.CULLED_COLUMN);
+
+        largestBucket = 0;
+        for (int bucket : buckets) {
+            largestBucket = Math.max(largestBucket, bucket);
+        }
+
+        Arrays.sort(sortedFrameTimes, 0, sampleCount);
+        medianFrameTime = sortedFrameTimes[(sampleCount - 1) / 2];
+        percentile99FrameTime = sortedFrameTimes[(int) Math.ceil(sampleCount * 0.99) - 1];
+        maxFrameTime = sortedFrameTimes[sampleCount - 1];
+    }
+
+    /** Append a time in nanoseconds as milliseconds with two decimals, without creating any strings. */
+    private void appendMillis(long nanos) {
+        long hundredths = (nanos + 5_000L) / 10_000L;
+        text.append(hundredths / 100).append('.');
+        if (hundredths % 100 < 10) {
+            text.append('0');
+        }
+        text.append(hundredths % 100);
+    }
+
+    /** Adapt the overlay after window size. */
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void dispose() {
+        shapeRenderer.dispose();
+        font.dispose();
+    }
+}
@@ -0,0 +1,6 @@
+package com.twodstudios.platformjumper;
+
+public interface GameEventListener {
+    void coinCollected();
+    void playerDied();
+}
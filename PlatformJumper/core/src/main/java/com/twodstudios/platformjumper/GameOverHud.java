@@ -1,8 +1,8 @@
 package com.twodstudios.platformjumper;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
@@ -10,26 +10,28 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.FocusListener;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.github.tommyettinger.textra.Font;
 import com.github.tommyettinger.textra.TypingLabel;
 
 /** Creates and handles the game over UI. */
-public class GameOverHud implements Resettable <GameOverHud>{
+public class GameOverHud implements Resettable <GameOverHud>, LeaderboardListener {
 
     private final GameOverListener gameOverListener;
-    private final ScoreManager scoreManager;
+    private final GameWorld world;
+    private final LeaderboardService leaderboardService;
 
     private final Skin skin;
     private final Stage stage;
     private final Table table;
 
     // All stage and table elements
-    private Texture gameoverBackground;
+    private final Texture gameoverBackground;
     private Image uiBackground;
     private Label gameOverLabel;
-    private Label highscoreTitle, top1Name, top1Score, top2Name, top2Score, top3Name, top3Score;
+    private Label highscoreTitle;
+    private final Label[] topNameLabels = new Label[3];
+    private final Label[] topScoreLabels = new Label[3];
     private Table highScoreTable;
     private TypingLabel animatedHighScoreLabel;
     private TextField textField;
@@ -42,22 +44,26 @@ public class GameOverHud implements Resettable <GameOverHud>{
     /**
      * Creates a GameOverState handler.
      * @param gameOverListener A class which can reset the game when score has been submitted.
-     * @param scoreManager For handling retrieval of score and validation of name submission.
+     * @param world For retrieval of the score of the run.
+     * @param leaderboardService For showing high scores and validation of name submission.
+     * @param spriteBatch Shared spritebatch to draw the stage with.
+     * @param assets Asset service with the game assets loaded.
      */
-    public GameOverHud(GameOverListener gameOverListener, ScoreManager scoreManager) {
+    public GameOverHud(GameOverListener gameOverListener, GameWorld world, LeaderboardService leaderboardService, SpriteBatch spriteBatch, Assets assets) {
         this.gameOverListener = gameOverListener;
-        this.scoreManager = scoreManager;
+        this.world = world;
+        this.leaderboardService = leaderboardService;
 
 
-        // Load the skin
-        this.skin = new Skin(Gdx.files.internal("skins/game_over_skin.json"));
+        // Get the skin and background image
+        this.skin = assets.getSkin(Assets.GAME_OVER_SKIN);
+        this.gameoverBackground = assets.getTexture(Assets.UI_BACKGROUND);
 
         // Create stage and table
-        this.stage = new Stage(new FitViewport(Main.WORLD_WIDTH, Main.WORLD_HEIGHT));
+        this.stage = new Stage(new FitViewport(Main.WORLD_WIDTH, Main.WORLD_HEIGHT), spriteBatch); // Shared batch, not owned by the stage
         this.table = new Table();
         table.setFillParent(true);
         table.center().pad(10, 300, 10, 300);
-        Gdx.input.setInputProcessor(stage);
 
         this.uiCreated = false; // Flag to check if UI has been created
     }
@@ -66,7 +72,7 @@ public class GameOverHud implements Resettable <GameOverHud>{
     private void createGameOverUI(){
 
         // If player has reached a high score the high core UI will be created
-        if (scoreManager.checkIfHighScore(score)){
+        if (leaderboardService.isHighScore(score)){
 
             gameOverHighScoreUI();
         } else { // If no high score was reached, simply create a "Game over" label
@@ -90,9 +96,6 @@ public class GameOverHud implements Resettable <GameOverHud>{
      * */
     private void createGameOverBackground(int width, int height) {
 
-        // Load the background image
-        this.gameoverBackground = new Texture(Gdx.files.internal("ui_background.png"));
-
         // Create an Image object from the texture (so it can be added to a Stage)
         uiBackground = new Image(gameoverBackground);
 
@@ -147,23 +150,31 @@ public class GameOverHud implements Resettable <GameOverHud>{
         createPlayButton(table, false);
     }
 
-    /** Create the high score table which includes the top 3 high scores.*/
+    /** Create the high score table which includes the top 3 high scores. The table is kept up to date while shown.*/
     private void createHighScoreTable(){
-        Array<String> highScoreNames = scoreManager.getNames(3);
-        Array<Integer> currentHighScores = scoreManager.getScores(3);
         highScoreTable = new Table();
         for (int i = 0; i < 3; i++) {
-            Label nameLabel = new Label((i + 1) + ". " + highScoreNames.get(i), skin, "medium");
+            topNameLabels[i] = new Label((i + 1) + ". " + leaderboardService.getRowName(i), skin, "medium");
             Label dashLabel = new Label("  ---------------  ", skin, "medium");
-            Label scoreLabel = new Label("" + currentHighScores.get(i), skin, "medium");
+            topScoreLabels[i] = new Label(leaderboardService.getRowScore(i), skin, "medium");
 
-            highScoreTable.add(nameLabel).left().expandX().fillX();
+            highScoreTable.add(topNameLabels[i]).left().expandX().fillX();
             highScoreTable.add(dashLabel).expandX().fillX();
-            highScoreTable.add(scoreLabel).right().expandX().fillX();
+            highScoreTable.add(topScoreLabels[i]).right().expandX().fillX();
             highScoreTable.row();
         }
         table.add(highScoreTable).colspan(3);
         table.row();
+        leaderboardService.addListener(this);
+    }
+
+    /** Update the rows of the high score table that changed. */
+    @Override
+    public void leaderboardChanged(int firstChangedRow) {
+        for (int i = firstChangedRow; i < 3; i++) {
+            topNameLabels[i].setText((i + 1) + ". " + leaderboardService.getRowName(i));
+            topScoreLabels[i].setText(leaderboardService.getRowScore(i));
+        }
     }
 
     /** Create Submit button.
@@ -210,13 +221,12 @@ public class GameOverHud implements Resettable <GameOverHud>{
         String name = textField.getText(); // Get text field input (name)
 
         // Validate name input using regex (must be A-Ö and cannot include any special characters)
-        boolean isNameValid = scoreManager.validateName(name);
+        boolean isNameValid = leaderboardService.validateName(name);
 
         // If name is valid save the score
         if (isNameValid){
-            scoreManager.submitHighScore(name, score); // Submit high score
+            leaderboardService.submit(name, score); // Submit high score
             gameOverListener.resetGame(); // Call main game to reset after the score has been submitted
-            Gdx.input.setInputProcessor(null);
         } else {
             setNameInvalidMessage(); // Inform user of faulty input if that's the case
         }
@@ -272,7 +282,7 @@ public class GameOverHud implements Resettable <GameOverHud>{
 
     /** Update the score for this class in preparation of being shown in the game over screen. */
     private void updateScore(){
-        score = scoreManager.getScore();
+        score = world.getScore();
     }
 
     public void resize(int width, int height){
@@ -282,24 +292,28 @@ public class GameOverHud implements Resettable <GameOverHud>{
     public void render(float deltaTime){
         updateScore();
 
-        // Create the game over UI if it hasn't been created already
-        if (!uiCreated){
+        // Create the game over UI if it hasn't been created already. It waits for the high scores to be loaded, so
+        // that the name prompt is only shown for a score that really is a high score
+        if (!uiCreated && leaderboardService.isLoaded()){
             createGameOverUI();
         }
 
-        Gdx.input.setInputProcessor(stage);
         stage.act(deltaTime);
-        stage.draw();
+        Main.drawStage(stage);
     }
 
     @Override
     public void reset(){
-        if (gameoverBackground != null){
-            gameoverBackground.dispose();
-        }
+        leaderboardService.removeListener(this);
         stage.clear();
         table.clear();
         this.uiCreated = false;
         score = 0;
     }
+
+    /** Stop listening to the leaderboard and dispose of the stage. The sprite batch is shared and stays alive. */
+    public void dispose(){
+        leaderboardService.removeListener(this);
+        stage.dispose();
+    }
 }
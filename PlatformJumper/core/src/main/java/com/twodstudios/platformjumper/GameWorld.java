@@ -0,0 +1,183 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.math.MathUtils;
+import jdk.jfr.EventType;
+
+/**
+ * Holds the complete game simulation (player, tiles, coins and physics) without any rendering or audio.
+ * The world is advanced with {@link #step(float, boolean)} and can therefore run without a graphics context,
+ * e.g. in tests, bots or for replay verification. Renderers read the world state to draw it.
+ * The level is generated from a seed, so two worlds with the same seed and the same inputs behave identically.
+ */
+public class GameWorld implements GameEventListener, Resettable <GameWorld> {
+
+    private static final EventType COIN_PICKUP_EVENT_TYPE = EventType.getEventType(CoinPickupEvent.class);
+    private static final EventType PLAYER_DEATH_EVENT_TYPE = EventType.getEventType(PlayerDeathEvent.class);
+
+    private final Player player;
+    private final Tiles tiles;
+    private final CoinManager coinManager;
+    private final LevelStream levelStream;
+    private final PhysicsManager physicsManager;
+    private GameEventListener gameEventListener; // Optional listener for gameplay events, e.g. to play sounds
+
+    private int score; // Amount of coins collected during the current run
+    private long stepCount; // Amount of simulation steps since the last reset
+
+    /**
+     * Create a new GameWorld with a random level.
+     * @param backgroundSpeed Speed that tiles and coins move towards the left with.
+     */
+    public GameWorld(float backgroundSpeed) {
+        this(backgroundSpeed, MathUtils.random.nextLong());
+    }
+
+    /**
+     * Create a new GameWorld.
+     * @param backgroundSpeed Speed that tiles and coins move towards the left with.
+     * @param seed Seed of the level.
+     */
+    public GameWorld(float backgroundSpeed, long seed) {
+        this.player = new Player(120, 150, Main.WORLD_WIDTH / 2, 135f);
+        this.tiles = new Tiles(backgroundSpeed);
+        this.coinManager = new CoinManager(backgroundSpeed);
+        this.levelStream = new LevelStream(tiles, coinManager, seed);
+        this.physicsManager = new PhysicsManager(player, tiles, coinManager, this);
+    }
+
+    /**
+     * Advance the simulation by one step.
+     * @param deltaTime Duration of the step in seconds.
+     * @param jumpPressed True if the jump input was pressed since the previous step.
+     */
+    public void step(float deltaTime, boolean jumpPressed) {
+        if (player.isDead()) {
+            return;
+        }
+
+        player.savePreviousPosition(); // Store position for render interpolation
+
+        // If jump is pressed and the character is not already in a jumping state, increase velocity
+        if (jumpPressed && !player.isJumping()) {
+            player.startJump();
+        }
+
+        physicsManager.step(deltaTime); // Move the player and resolve tile, coin and floor collisions along the way
+        levelStream.fillBuffer(); // Prepare a buffer of tiles and coins for rendering
+        tiles.removeOffscreenTiles();
+        coinManager.removeOffscreenCoins();
+        tiles.moveTiles(deltaTime); // Continuously move all tiles towards the left
+        coinManager.moveCoins(deltaTime); // Continuously move all coins towards the left
+        levelStream.advance(tiles.getStepDistance());
+        stepCount++;
+    }
+
+    /**
+     * Set a listener that is informed about gameplay events.
+     * @param gameEventListener Listener to inform, or null to remove the current listener.
+     */
+    public void setGameEventListener(GameEventListener gameEventListener) {
+        this.gameEventListener = gameEventListener;
+    }
+
+    @Override
+    public void coinCollected() {
+        score++;
+
+        // Events are only created while they are recorded, so that collecting a coin never allocates
+        if (COIN_PICKUP_EVENT_TYPE.isEnabled()) {
+            CoinPickupEvent event = new CoinPickupEvent();
+            if (event.shouldCommit()) {
+                event.score = score;
+                event.commit();
+            }
+        }
+        if (gameEventListener != null) {
+            gameEventListener.coinCollected();
+        }
+    }
+
+    @Override
+    public void playerDied() {
+        if (PLAYER_DEATH_EVENT_TYPE.isEnabled()) {
+            PlayerDeathEvent event = new PlayerDeathEvent();
+            if (event.shouldCommit()) {
+                event.score = score;
+                event.seed = getSeed();
+                event.playerX = player.getXPosition();
+                event.playerY = player.getYPosition();
+                event.commit();
+            }
+        }
+        if (gameEventListener != null) {
+            gameEventListener.playerDied();
+        }
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Tiles getTiles() {
+        return tiles;
+    }
+
+    public CoinManager getCoinManager() {
+        return coinManager;
+    }
+
+    public PhysicsManager getPhysicsManager() {
+        return physicsManager;
+    }
+
+    /**
+     * Generate the level on a background thread instead of during {@link #step(float, boolean)}.
+     * The level is the same either way.
+     */
+    public void startBackgroundGeneration() {
+        levelStream.startBackgroundGeneration(4);
+    }
+
+    /** Stop the background thread started with {@link #startBackgroundGeneration()}. */
+    public void stopBackgroundGeneration() {
+        levelStream.stopBackgroundGeneration();
+    }
+
+    public LevelStream getLevelStream() {
+        return levelStream;
+    }
+
+    /** Get the seed of the current level. */
+    public long getSeed() {
+        return levelStream.getSeed();
+    }
+
+    /** Get amount of coins collected during the current run. */
+    public int getScore() {
+        return score;
+    }
+
+    /** Get amount of simulation steps since the last reset. */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /** Reset the world to prepare for a new run with a new random level. */
+    @Override
+    public void reset() {
+        reset(MathUtils.random.nextLong());
+    }
+
+    /**
+     * Reset the world to prepare for a new run.
+     * @param seed Seed of the level to play. Use the same seed to replay a level.
+     */
+    public void reset(long seed) {
+        player.reset(); // Reset player velocity, position and states
+        tiles.reset(); // Reset tiles to prepare for new game
+        coinManager.reset(); // Reset all coins
+        levelStream.reset(seed); // Start the level over from the first chunk
+        score = 0;
+        stepCount = 0;
+    }
+}
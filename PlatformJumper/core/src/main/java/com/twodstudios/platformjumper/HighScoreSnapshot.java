@@ -0,0 +1,105 @@
+package com.twodstudios.platformjumper;
+
+/**
+ * Immutable view of the {@link Leaderboard} at one moment. Holds a copy of the top entries for showing high scores,
+ * and the published prefix of the entry arrays for writing all entries to disk. A new snapshot is created for every
+ * change, so a snapshot can be shared between threads and read without locking.
+ */
+public final class HighScoreSnapshot {
+
+    // Top entries, from highest to lowest score
+    private final String[] topNames;
+    private final int[] topScores;
+
+    // All entries. Only the first entryCount and nameCount values belong to this snapshot
+    private final int[] entryScores;
+    private final int[] entryNameIds;
+    private final int entryCount;
+    private final String[] names;
+    private final int nameCount;
+
+    private final long version; // Amount of changes since the high scores were loaded
+
+    private HighScoreSnapshot(String[] topNames, int[] topScores, int[] entryScores, int[] entryNameIds, int entryCount,
+                              String[] names, int nameCount, long version) {
+        this.topNames = topNames;
+        this.topScores = topScores;
+        this.entryScores = entryScores;
+        this.entryNameIds = entryNameIds;
+        this.entryCount = entryCount;
+        this.names = names;
+        this.nameCount = nameCount;
+        this.version = version;
+    }
+
+    /**
+     * Create a snapshot of a leaderboard. Only the top entries are copied, all other entries are shared with the
+     * leaderboard, which never changes entries it has already stored.
+     * @param leaderboard Leaderboard to take the snapshot of.
+     * @param version Version of the snapshot.
+     */
+    static HighScoreSnapshot of(Leaderboard leaderboard, long version) {
+        int[] topEntries = new int[Leaderboard.TOP_SIZE];
+        int topSize = leaderboard.getTopEntries(1, topEntries);
+
+        String[] topNames = new String[topSize];
+        int[] topScores = new int[topSize];
+        for (int i = 0; i < topSize; i++) {
+            topNames[i] = leaderboard.getEntryName(topEntries[i]);
+            topScores[i] = leaderboard.getEntryScore(topEntries[i]);
+        }
+        return new HighScoreSnapshot(topNames, topScores, leaderboard.getEntryScores(), leaderboard.getEntryNameIds(),
+            leaderboard.getSize(), leaderboard.getNames(), leaderboard.getNameCount(), version);
+    }
+
+    /**
+     * Check if a score is a new high score. Any score counts when there are no high scores yet, otherwise the score
+     * has to beat the lowest of the top scores.
+     */
+    public boolean isHighScore(int score) {
+        return topScores.length == 0 || score > topScores[topScores.length - 1];
+    }
+
+    /** Get the amount of top scores, at most {@link Leaderboard#TOP_SIZE}. */
+    public int getSize() {
+        return topScores.length;
+    }
+
+    /** Get the name at a position, 0 being the highest score. */
+    public String getName(int position) {
+        return topNames[position];
+    }
+
+    /** Get the score at a position, 0 being the highest score. */
+    public int getScore(int position) {
+        return topScores[position];
+    }
+
+    /** Get the amount of changes since the high scores were loaded. Newer snapshots have higher versions. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** Get the amount of stored entries, including entries outside the top scores. */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    // Entry arrays for writing the snapshot. The arrays must not be changed
+
+    int[] getEntryScores() {
+        return entryScores;
+    }
+
+    int[] getEntryNameIds() {
+        return entryNameIds;
+    }
+
+    String[] getNames() {
+        return names;
+    }
+
+    int getNameCount() {
+        return nameCount;
+    }
+}
@@ -0,0 +1,262 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps all submitted scores in a {@link Leaderboard} in memory and writes them to a binary {@link LeaderboardFile}
+ * on its own thread. High scores of the older JSON format are migrated when there is no leaderboard file yet.
+ * <p>
+ * Submitted scores are visible in {@link #getSnapshot()} right away. The writer thread only writes the latest
+ * snapshot, so several scores submitted in a short time are written once. Each write goes to a temporary file
+ * that is synced to disk and then moved over the high score file in one step, so a crash during a write leaves
+ * either the old or the new high scores, never a partly written file.
+ */
+public class HighScoreStore {
+
+    private static final long RETRY_NANOS = 1_000_000_000L; // Time to wait before retrying a failed write
+
+    private final Path file;
+    private final Path temporaryFile;
+    private final Leaderboard leaderboard; // Only used by the thread that submits scores
+    private long version; // Version of the latest snapshot, only used by the thread that submits scores
+    private final AtomicReference<HighScoreSnapshot> snapshot = new AtomicReference<HighScoreSnapshot>();
+    private Thread thread;
+    private volatile boolean running;
+    private volatile long writtenVersion; // Version of the latest snapshot on disk, only written by the writer thread
+    private volatile long writeCount; // Only written by the writer thread
+
+    /**
+     * Create a new HighScoreStore and load the high scores from the file.
+     * @param file Leaderboard file. A missing file is treated as no high scores.
+     * @param legacyFile JSON high score file of older versions, migrated if the leaderboard file is missing.
+     */
+    public HighScoreStore(File file, File legacyFile) {
+        this.file = file.toPath();
+        this.temporaryFile = this.file.resolveSibling(file.getName() + ".tmp");
+        this.leaderboard = load(legacyFile.toPath());
+        snapshot.set(HighScoreSnapshot.of(leaderboard, version));
+    }
+
+    /** Load the leaderboard, recovering from a write that was interrupted by a crash. */
+    private Leaderboard load(Path legacyFile) {
+        Leaderboard loaded = read(file);
+
+        if (loaded == null) {
+            // The file is missing or damaged. A complete temporary file is newer than any damaged file
+            loaded = read(temporaryFile);
+            if (loaded != null) {
+                System.out.println("Recovered high scores from " + temporaryFile);
+                version = 1; // Write the recovered scores back
+                return loaded;
+            }
+        }
+
+        // A temporary file next to a valid file is from an interrupted write and may be incomplete
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException exception) {
+            System.out.println("Could not delete " + temporaryFile + ": " + exception.getMessage());
+        }
+
+        if (loaded == null) {
+            keepDamagedFile();
+            loaded = migrate(legacyFile);
+        }
+        return loaded;
+    }
+
+    /** Move a damaged leaderboard file aside, so it is not overwritten by the next write. */
+    private void keepDamagedFile() {
+        if (Files.exists(file)) {
+            Path damagedFile = file.resolveSibling(file.getFileName() + ".damaged");
+            try {
+                Files.move(file, damagedFile, StandardCopyOption.REPLACE_EXISTING);
+                System.out.println("Moved damaged high scores to " + damagedFile);
+            } catch (IOException exception) {
+                System.out.println("Could not move " + file + ": " + exception.getMessage());
+            }
+        }
+    }
+
+    /** Read a leaderboard file, or null if the file is missing or damaged. */
+    private Leaderboard read(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return LeaderboardFile.read(path);
+        } catch (IOException exception) {
+            System.out.println("Could not read high scores from " + path + ": " + exception.getMessage());
+            return null;
+        }
+    }
+
+    /** Create a leaderboard from a JSON high score file of an older version, or an empty one without such a file. */
+    private Leaderboard migrate(Path legacyFile) {
+        Leaderboard migrated = new Leaderboard();
+        if (!Files.isRegularFile(legacyFile)) {
+            return migrated;
+        }
+        try {
+            String content = new String(Files.readAllBytes(legacyFile), StandardCharsets.UTF_8);
+            HighScores highScores = new Json().fromJson(HighScores.class, content);
+            if (highScores != null && highScores.highScores != null) {
+                for (int i = 0; i < highScores.highScores.size; i++) {
+                    Score score = highScores.highScores.get(i);
+                    migrated.add(score.name.toUpperCase(), score.score);
+                }
+            }
+            System.out.println("Migrated " + migrated.getSize() + " high scores from " + legacyFile);
+            version = 1; // Write the migrated scores to the leaderboard file
+        } catch (IOException | SerializationException | IllegalArgumentException exception) {
+            System.out.println("Could not migrate high scores from " + legacyFile + ": " + exception.getMessage());
+        }
+        return migrated;
+    }
+
+    /** Start writing changes on a new daemon thread. Changes made before are written right away. */
+    public void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        }, "high-score-writer");
+        thread.setDaemon(true); // Never keep the application alive, close() writes the last changes
+        thread.start();
+    }
+
+    /** Write all changes and stop the writer thread. */
+    public void close() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(5000);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Add a score. The new high scores are visible right away and written to the file in the background.
+     * Scores must always be submitted from the same thread.
+     * @param name Name of the player, stored in upper case.
+     * @param score Score of the player.
+     */
+    public void submit(String name, int score) {
+        leaderboard.add(name.toUpperCase(), score);
+        version++;
+        snapshot.set(HighScoreSnapshot.of(leaderboard, version));
+
+        Thread writerThread = thread;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /** Get the current high scores. The snapshot never changes, later changes create a new snapshot. */
+    public HighScoreSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Get the leaderboard with all scores, for rank queries. Must only be used by the thread that submits scores,
+     * other threads use {@link #getSnapshot()}.
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /** Check if all changes have been written to the file. */
+    public boolean isWritten() {
+        return writtenVersion >= snapshot.get().getVersion();
+    }
+
+    /** Get the amount of times the file has been written. */
+    public long getWriteCount() {
+        return writeCount;
+    }
+
+    private void writeLoop() {
+        boolean writing = true;
+        while (writing) {
+            writing = running; // Write the latest changes once more after being closed
+
+            HighScoreSnapshot latest = snapshot.get();
+            if (latest.getVersion() > writtenVersion) {
+                try {
+                    write(latest);
+                    writtenVersion = latest.getVersion();
+                    writeCount++;
+                } catch (IOException exception) {
+                    System.out.println("Could not write high scores to " + file + ": " + exception.getMessage());
+                    if (writing) {
+                        LockSupport.parkNanos(this, RETRY_NANOS);
+                    }
+                    continue;
+                }
+            }
+
+            if (writing && snapshot.get().getVersion() <= writtenVersion) {
+                LockSupport.park(this); // Woken up by submit() or close()
+            }
+        }
+    }
+
+    /** Write a snapshot to the temporary file, sync it to disk and move it over the high score file. */
+    private void write(HighScoreSnapshot highScores) throws IOException {
+        HighScoreWriteEvent event = new HighScoreWriteEvent();
+        event.begin();
+
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            LeaderboardFile.write(channel, highScores);
+            channel.force(true); // Make sure the content is on disk before the file replaces the old one
+        }
+
+        try {
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = file.toString();
+            event.version = highScores.getVersion();
+            event.entries = highScores.getEntryCount();
+            event.commit();
+        }
+    }
+
+    /** Sync the directory of the high score file, so the move survives a power loss. Not supported on every system. */
+    private void syncDirectory() {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException exception) {
+            // Directories cannot be opened on Windows, where the move is durable without it
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.twodstudios.platformjumper;
+
+import jdk.jfr.Event;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event spanning a write of the high score file by {@link HighScoreStore}. */
+@Name("platformjumper.HighScoreWrite")
+@Label("High Score Write")
+@Category({"PlatformJumper", "Persistence"})
+@Description("Writing the high scores to a file.")
+public class HighScoreWriteEvent extends Event {
+
+    @Label("File")
+    @Description("Path of the high score file.")
+    public String file;
+
+    @Label("Version")
+    @Description("Version of the written high scores. Skipped versions were coalesced into this write.")
+    public long version;
+
+    @Label("Entries")
+    @Description("Amount of high scores written.")
+    public int entries;
+}
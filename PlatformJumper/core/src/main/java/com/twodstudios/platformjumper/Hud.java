@@ -1,7 +1,7 @@
 package com.twodstudios.platformjumper;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -23,12 +23,14 @@ public class Hud {
     private TextureAtlas rotatingCoinAtlas;
     private TextureRegion[] rotatingCoinTextureRegions = new TextureRegion[12];
     private Animation<TextureRegion> rotatingCoinAnimation;
+    private TextureRegionDrawable[] rotatingCoinDrawables; // One drawable per animation frame, created once
+    private int rotatingCoinFrame = 0; // Index of the frame currently shown
     private float animationTime = 0;
+    private int shownScore = -1; // Score shown by the label, -1 before the first score is set
 
-    public Hud(HudListener hudListener) {
+    public Hud(HudListener hudListener, Batch spriteBatch, Assets assets) {
 
-        this.stage = new Stage(new FitViewport(Main.WORLD_WIDTH, Main.WORLD_HEIGHT));
-        Gdx.input.setInputProcessor(stage);
+        this.stage = new Stage(new FitViewport(Main.WORLD_WIDTH, Main.WORLD_HEIGHT), spriteBatch); // Shared batch, not owned by the stage
         this.hudListener = hudListener;
 
         Table table = new Table();
@@ -38,13 +40,14 @@ public class Hud {
 
         table.row();
 
-        this.skin = new Skin(Gdx.files.internal("hud/new/hud_skin.json"));
+        this.skin = assets.getSkin(Assets.HUD_SKIN);
 
         // Create rotating coin animation
-        rotatingCoinAtlas = new TextureAtlas(Gdx.files.internal("hud/star_coin.atlas"));
+        rotatingCoinAtlas = assets.getAtlas(Assets.STAR_COIN_ATLAS);
         rotatingCoinAnimation = createAnimation(rotatingCoinAtlas, rotatingCoinTextureRegions, "rotating_star_coin", 1/10f);
         rotatingCoinAnimation.setPlayMode(Animation.PlayMode.LOOP);
-        rotatingCoin = new Image(rotatingCoinAnimation.getKeyFrame(0));
+        setupRotatingCoinDrawables();
+        rotatingCoin = new Image(rotatingCoinDrawables[0]);
         table.add(rotatingCoin).size(50, 50).padRight(20);
 
 
@@ -58,6 +61,18 @@ public class Hud {
 
     }
 
+    /**
+     * Create one drawable per frame of the rotating coin animation. All drawables get the same minimum size, so
+     * switching frames never changes the preferred size of the image and never causes a new layout of the table.
+     */
+    private void setupRotatingCoinDrawables(){
+        rotatingCoinDrawables = new TextureRegionDrawable[rotatingCoinTextureRegions.length];
+        for (int i = 0; i < rotatingCoinDrawables.length; i++) {
+            rotatingCoinDrawables[i] = new TextureRegionDrawable(rotatingCoinTextureRegions[i]);
+            rotatingCoinDrawables[i].setMinSize(50, 50);
+        }
+    }
+
     public Stage getStage() {
         return stage;
     }
@@ -78,7 +93,12 @@ public class Hud {
         });
     }
 
+    /** Show a score. The label is only changed, and the HUD only laid out again, when the score differs. */
     public void setScore(int newScore){
+        if (newScore == shownScore) {
+            return;
+        }
+        shownScore = newScore;
         this.score.setText(newScore);
     }
 
@@ -88,10 +108,19 @@ public class Hud {
 
     public void render(float deltaTime){
         animationTime += deltaTime;
-        TextureRegion currentFrame = rotatingCoinAnimation.getKeyFrame(animationTime);
-        rotatingCoin.setDrawable(new TextureRegionDrawable(currentFrame));
+
+        // Only swap the drawable when the animation moves to another frame
+        int frame = rotatingCoinAnimation.getKeyFrameIndex(animationTime);
+        if (frame != rotatingCoinFrame) {
+            rotatingCoinFrame = frame;
+            rotatingCoin.setDrawable(rotatingCoinDrawables[frame]);
+        }
         stage.act();
-        stage.draw();
+        Main.drawStage(stage);
     }
 
+    /** Dispose of the stage. The sprite batch is shared and stays alive. */
+    public void dispose(){
+        stage.dispose();
+    }
 }
@@ -0,0 +1,86 @@
+package com.twodstudios.platformjumper;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, lock-free queue of key presses and the time they happened, handed from the thread that receives input
+ * to the thread that runs the simulation. The simulation takes each press in the step that covers its time, so
+ * input is applied at the right tick however many steps run per frame.
+ * <p>
+ * Only one thread may call the producer methods and only one other thread, or the same thread, may call the
+ * consumer methods.
+ */
+public class KeyEventQueue {
+
+    /** Returned by {@link #poll(long)} when there is no key press up to the given time. */
+    public static final int NONE = -1;
+
+    private final int[] keycodes;
+    private final long[] times; // Nanoseconds, from the same clock as System.nanoTime()
+    private final int mask;
+
+    // Total amount of key presses offered and polled. Each index is only written by one thread
+    private final AtomicLong offeredCount = new AtomicLong();
+    private final AtomicLong polledCount = new AtomicLong();
+
+    /**
+     * Create a new KeyEventQueue.
+     * @param capacity Maximum amount of key presses waiting in the queue. Must be a power of two.
+     */
+    public KeyEventQueue(int capacity) {
+        if (capacity < 1 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        keycodes = new int[capacity];
+        times = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Add a key press. Producer only.
+     * @param keycode Key that was pressed.
+     * @param time Time of the press in nanoseconds.
+     * @return False if the queue is full and the press was dropped.
+     */
+    public boolean offer(int keycode, long time) {
+        long offered = offeredCount.get();
+        if (offered - polledCount.get() >= keycodes.length) {
+            return false;
+        }
+        int index = (int) offered & mask;
+        keycodes[index] = keycode;
+        times[index] = time;
+        offeredCount.lazySet(offered + 1);
+        return true;
+    }
+
+    /**
+     * Remove the oldest key press if it happened at or before a time. Consumer only.
+     * @param time Time in nanoseconds.
+     * @return Key of the press, or {@link #NONE} if the queue is empty or the oldest press happened later.
+     */
+    public int poll(long time) {
+        long polled = polledCount.get();
+        if (polled >= offeredCount.get()) {
+            return NONE;
+        }
+        int index = (int) polled & mask;
+        if (times[index] - time > 0) {
+            return NONE; // Belongs to a later step
+        }
+        int keycode = keycodes[index];
+        polledCount.lazySet(polled + 1);
+        return keycode;
+    }
+
+    /** Remove all key presses. Consumer only. */
+    public void clear() {
+        polledCount.lazySet(offeredCount.get());
+    }
+
+    /** Get the amount of key presses waiting in the queue. Can be called from any thread. */
+    public int size() {
+        long polled = polledCount.get();
+        return (int) (offeredCount.get() - polled);
+    }
+}
@@ -0,0 +1,311 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Keeps every submitted score and answers rank queries on them, without sorting and without boxing.
+ * <p>
+ * Entries are stored in insertion order in primitive arrays. A Fenwick tree over score values counts the entries
+ * per score, so inserting an entry, finding the rank of a score and finding the score at a rank take O(log m),
+ * where m is the highest score. Entries with the same score are linked in insertion order, so equal scores are
+ * ranked first come, first served.
+ * <p>
+ * Entries are never removed or changed. The first {@link #getSize()} values of the entry and name arrays therefore
+ * never change either, which lets another thread read a published prefix of them while new entries are added.
+ * All other methods must be called from one thread.
+ */
+public class Leaderboard {
+
+    /** Amount of entries that count as high scores. */
+    public static final int TOP_SIZE = 10;
+
+    /** Highest score that can be stored. Keeps the score index at a reasonable size. */
+    public static final int MAX_SCORE = (1 << 24) - 1;
+
+    // Entries, in insertion order
+    private int[] entryScores = new int[16];
+    private int[] entryNameIds = new int[16];
+    private int[] nextEntries = new int[16]; // Next entry with the same score, or -1
+    private int size;
+
+    // Names, each distinct name is stored once
+    private String[] names = new String[16];
+    private final ObjectIntMap<String> nameIds = new ObjectIntMap<String>();
+    private int nameCount;
+
+    // Index over score values
+    private int scoreCapacity; // Amount of score values covered by the index, always a power of two
+    private int[] tree; // Fenwick tree, tree[i] counts the entries with a score in (i - (i & -i), i - 1]
+    private int[] firstEntries; // First entry per score, or -1
+    private int[] lastEntries; // Last entry per score, or -1
+
+    private int thresholdScore; // Lowest score among the top entries
+
+    /** Create an empty leaderboard. */
+    public Leaderboard() {
+        setupScoreIndex(64);
+    }
+
+    /**
+     * Create a leaderboard from stored entries in O(n + m), without inserting them one by one.
+     * @param entryScores Scores of the entries, in insertion order. Used by the leaderboard, must not be changed.
+     * @param entryNameIds Name ids of the entries. Used by the leaderboard, must not be changed.
+     * @param size Amount of entries.
+     * @param names Names, indexed by name id. Used by the leaderboard, must not be changed.
+     * @param nameCount Amount of names.
+     */
+    Leaderboard(int[] entryScores, int[] entryNameIds, int size, String[] names, int nameCount) {
+        int capacity = 64;
+        for (int entry = 0; entry < size; entry++) {
+            while (capacity <= entryScores[entry]) {
+                capacity *= 2;
+            }
+        }
+        this.entryScores = entryScores;
+        this.entryNameIds = entryNameIds;
+        this.nextEntries = new int[Math.max(entryScores.length, 16)];
+        this.size = size;
+        this.names = names;
+        this.nameCount = nameCount;
+        for (int id = 0; id < nameCount; id++) {
+            nameIds.put(names[id], id);
+        }
+
+        rebuildScoreIndex(capacity);
+        thresholdScore = size > 0 ? getScoreAtRank(Math.min(size, TOP_SIZE)) : 0;
+    }
+
+    private void setupScoreIndex(int capacity) {
+        scoreCapacity = capacity;
+        tree = new int[capacity + 1];
+        firstEntries = new int[capacity];
+        lastEntries = new int[capacity];
+        Arrays.fill(firstEntries, -1);
+        Arrays.fill(lastEntries, -1);
+    }
+
+    /**
+     * Add an entry.
+     * @param name Name of the player.
+     * @param score Score of the player, between 0 and {@link #MAX_SCORE}.
+     * @return Index of the new entry.
+     */
+    public int add(String name, int score) {
+        if (score < 0 || score > MAX_SCORE) {
+            throw new IllegalArgumentException("Score must be between 0 and " + MAX_SCORE + ": " + score);
+        }
+        if (score >= scoreCapacity) {
+            growScoreIndex(score);
+        }
+        if (size == entryScores.length) {
+            growEntries();
+        }
+
+        int entry = size;
+        entryScores[entry] = score;
+        entryNameIds[entry] = getNameId(name);
+        nextEntries[entry] = -1;
+
+        // Link the entry after earlier entries with the same score
+        if (lastEntries[score] == -1) {
+            firstEntries[score] = entry;
+        } else {
+            nextEntries[lastEntries[score]] = entry;
+        }
+        lastEntries[score] = entry;
+
+        for (int i = score + 1; i <= scoreCapacity; i += i & -i) {
+            tree[i]++;
+        }
+        size++;
+
+        thresholdScore = getScoreAtRank(Math.min(size, TOP_SIZE));
+        return entry;
+    }
+
+    /** Get the id of a name, adding the name if it is new. */
+    private int getNameId(String name) {
+        int id = nameIds.get(name, -1);
+        if (id == -1) {
+            if (nameCount == names.length) {
+                String[] newNames = new String[Math.max(names.length * 2, 16)];
+                System.arraycopy(names, 0, newNames, 0, nameCount);
+                names = newNames;
+            }
+            id = nameCount;
+            names[nameCount++] = name;
+            nameIds.put(name, id);
+        }
+        return id;
+    }
+
+    /** Grow the entry arrays. New arrays are created, so published prefixes of the old arrays stay valid. */
+    private void growEntries() {
+        int capacity = Math.max(entryScores.length * 2, 16);
+        entryScores = copyOf(entryScores, capacity);
+        entryNameIds = copyOf(entryNameIds, capacity);
+        nextEntries = copyOf(nextEntries, capacity);
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+        int[] copy = new int[length];
+        System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+        return copy;
+    }
+
+    /** Grow the score index to cover the given score. */
+    private void growScoreIndex(int score) {
+        int capacity = scoreCapacity;
+        while (capacity <= score) {
+            capacity *= 2;
+        }
+        rebuildScoreIndex(capacity);
+    }
+
+    /** Build the score index and the links between equal scores from the entries. */
+    private void rebuildScoreIndex(int capacity) {
+        setupScoreIndex(capacity);
+
+        for (int entry = 0; entry < size; entry++) {
+            int entryScore = entryScores[entry];
+            tree[entryScore + 1]++;
+            nextEntries[entry] = -1;
+            if (lastEntries[entryScore] == -1) {
+                firstEntries[entryScore] = entry;
+            } else {
+                nextEntries[lastEntries[entryScore]] = entry;
+            }
+            lastEntries[entryScore] = entry;
+        }
+
+        // Turn the counts into a Fenwick tree in O(m)
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /** Count the entries with a score of at most the given score. */
+    private int countAtMost(int score) {
+        if (score < 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = Math.min(score, scoreCapacity - 1) + 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /** Find the lowest score that has at least k entries with a score of at most it. */
+    private int findKthLowestScore(int k) {
+        int position = 0;
+        for (int step = scoreCapacity; step > 0; step >>= 1) {
+            if (position + step <= scoreCapacity && tree[position + step] < k) {
+                position += step;
+                k -= tree[position];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Get the rank a score has, or would have, on the leaderboard. Rank 1 is the highest score, equal scores share
+     * a rank.
+     */
+    public int getRank(int score) {
+        return size - countAtMost(score) + 1;
+    }
+
+    /**
+     * Get the score of the entry at a rank.
+     * @param rank Rank from 1 to {@link #getSize()}.
+     */
+    public int getScoreAtRank(int rank) {
+        if (rank < 1 || rank > size) {
+            throw new IndexOutOfBoundsException("Rank must be between 1 and " + size + ": " + rank);
+        }
+        return findKthLowestScore(size - rank + 1);
+    }
+
+    /**
+     * Get the entries of a part of the top list, ordered from highest to lowest score.
+     * @param firstRank Rank of the first entry, from 1.
+     * @param entries Array to store the entry indices in. Its length is the maximum amount of entries.
+     * @return Amount of entries stored, less than requested at the end of the list.
+     */
+    public int getTopEntries(int firstRank, int[] entries) {
+        int count = 0;
+        int rank = Math.max(firstRank, 1);
+
+        while (count < entries.length && rank <= size) {
+            int score = getScoreAtRank(rank);
+
+            // Skip the entries of this score that are ranked before the first requested rank
+            int entry = firstEntries[score];
+            for (int skip = rank - (size - countAtMost(score)) - 1; skip > 0; skip--) {
+                entry = nextEntries[entry];
+            }
+            while (entry != -1 && count < entries.length) {
+                entries[count++] = entry;
+                entry = nextEntries[entry];
+                rank++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get one page of the top list.
+     * @param page Page number, from 0.
+     * @param entries Array to store the entry indices in. Its length is the page size.
+     * @return Amount of entries stored.
+     */
+    public int getPage(int page, int[] entries) {
+        return getTopEntries(page * entries.length + 1, entries);
+    }
+
+    /**
+     * Check if a score is a new high score in O(1). Any score counts when there are no entries yet, otherwise the
+     * score has to beat the lowest of the top {@link #TOP_SIZE} scores.
+     */
+    public boolean isHighScore(int score) {
+        return size == 0 || score > thresholdScore;
+    }
+
+    /** Get the amount of entries. */
+    public int getSize() {
+        return size;
+    }
+
+    public int getEntryScore(int entry) {
+        return entryScores[entry];
+    }
+
+    public String getEntryName(int entry) {
+        return names[entryNameIds[entry]];
+    }
+
+    /** Get the amount of distinct names. */
+    public int getNameCount() {
+        return nameCount;
+    }
+
+    // Arrays for reading a published prefix from another thread. The arrays must not be changed
+
+    int[] getEntryScores() {
+        return entryScores;
+    }
+
+    int[] getEntryNameIds() {
+        return entryNameIds;
+    }
+
+    String[] getNames() {
+        return names;
+    }
+}
@@ -0,0 +1,129 @@
+package com.twodstudios.platformjumper;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Binary file format of the {@link Leaderboard}. The scores and name ids of all entries are stored as two blocks of
+ * ints that are read with one bulk copy each, so loading does not parse the entries one by one:
+ * <pre>
+ * int    magic "PJLB"
+ * int    format version
+ * int    entry count n
+ * int    name count k
+ * int[n] entry scores, in insertion order
+ * int[n] entry name ids
+ * k x    name, as a short byte length followed by UTF-8 bytes
+ * int    CRC32 of everything before it
+ * </pre>
+ * Position, limit and flip are called on {@link Buffer}, since the ByteBuffer overrides added in Java 9 do not
+ * exist on the Java 8 runtime the game supports.
+ */
+final class LeaderboardFile {
+
+    private static final int MAGIC = 0x504A4C42; // "PJLB"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private LeaderboardFile() {}
+
+    /**
+     * Read a leaderboard.
+     * @throws IOException If the file cannot be read, or is not a complete leaderboard file.
+     */
+    static Leaderboard read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_SIZE + 4) {
+            throw new IOException("File is too short");
+        }
+
+        // Check the whole file before using any of it
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - 4);
+        if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+            throw new IOException("Checksum does not match");
+        }
+        ((Buffer) buffer).limit(buffer.limit() - 4);
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a leaderboard file");
+        }
+        int formatVersion = buffer.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version " + formatVersion);
+        }
+        int entryCount = buffer.getInt();
+        int nameCount = buffer.getInt();
+        if (entryCount < 0 || nameCount < 0 || (long) entryCount * 8 > buffer.remaining()) {
+            throw new IOException("Invalid entry count " + entryCount);
+        }
+
+        // Leave room to add entries without growing right away
+        int[] entryScores = new int[Math.max(entryCount + entryCount / 2, 16)];
+        int[] entryNameIds = new int[entryScores.length];
+        buffer.asIntBuffer().get(entryScores, 0, entryCount);
+        ((Buffer) buffer).position(buffer.position() + entryCount * 4);
+        buffer.asIntBuffer().get(entryNameIds, 0, entryCount);
+        ((Buffer) buffer).position(buffer.position() + entryCount * 4);
+
+        String[] names = new String[Math.max(nameCount, 16)];
+        for (int i = 0; i < nameCount; i++) {
+            int length = buffer.getShort() & 0xFFFF;
+            if (length > buffer.remaining()) {
+                throw new IOException("Invalid name length " + length);
+            }
+            names[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            ((Buffer) buffer).position(buffer.position() + length);
+        }
+
+        for (int i = 0; i < entryCount; i++) {
+            if (entryScores[i] < 0 || entryScores[i] > Leaderboard.MAX_SCORE || entryNameIds[i] < 0 || entryNameIds[i] >= nameCount) {
+                throw new IOException("Invalid entry " + i);
+            }
+        }
+        return new Leaderboard(entryScores, entryNameIds, entryCount, names, nameCount);
+    }
+
+    /** Write all entries of a snapshot to a channel. */
+    static void write(FileChannel channel, HighScoreSnapshot snapshot) throws IOException {
+        int entryCount = snapshot.getEntryCount();
+        int nameCount = snapshot.getNameCount();
+        String[] names = snapshot.getNames();
+
+        byte[][] encodedNames = new byte[nameCount][];
+        int namesSize = 0;
+        for (int i = 0; i < nameCount; i++) {
+            encodedNames[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            namesSize += 2 + encodedNames[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + entryCount * 8 + namesSize + 4);
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(entryCount);
+        buffer.putInt(nameCount);
+        buffer.asIntBuffer().put(snapshot.getEntryScores(), 0, entryCount);
+        ((Buffer) buffer).position(buffer.position() + entryCount * 4);
+        buffer.asIntBuffer().put(snapshot.getEntryNameIds(), 0, entryCount);
+        ((Buffer) buffer).position(buffer.position() + entryCount * 4);
+        for (byte[] encodedName : encodedNames) {
+            buffer.putShort((short) encodedName.length);
+            buffer.put(encodedName);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+
+        ((Buffer) buffer).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
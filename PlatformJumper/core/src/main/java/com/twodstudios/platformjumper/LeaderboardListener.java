@@ -0,0 +1,9 @@
+package com.twodstudios.platformjumper;
+
+public interface LeaderboardListener {
+    /**
+     * Called on the render thread when the top rows of the leaderboard have changed.
+     * @param firstChangedRow First row that changed. Rows above it are unchanged.
+     */
+    void leaderboardChanged(int firstChangedRow);
+}
@@ -0,0 +1,185 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+import java.io.File;
+
+/**
+ * The one leaderboard of the game, owned by {@link Main} and shared by all screens.
+ * <p>
+ * The high scores are loaded once on a background thread. The top rows are kept as ready-to-show strings, so
+ * screens never read or parse anything when they show the high scores. Listeners are told which rows changed
+ * after loading and after each submitted score. All methods must be called on the render thread.
+ */
+public class LeaderboardService {
+
+    /** Amount of rows kept ready to show. */
+    public static final int ROW_COUNT = Leaderboard.TOP_SIZE;
+
+    private final File file;
+    private final File legacyFile;
+    private HighScoreStore store; // Null until loading has finished
+    private volatile HighScoreStore loadedStore; // Set by the loader thread
+    private Thread loaderThread;
+
+    // Scores submitted before loading finished
+    private final Array<String> pendingNames = new Array<String>();
+    private final IntArray pendingScores = new IntArray();
+
+    // Top rows, "---" and "0" for empty rows
+    private final String[] rowNames = new String[ROW_COUNT];
+    private final String[] rowScores = new String[ROW_COUNT];
+
+    private final SnapshotArray<LeaderboardListener> listeners = new SnapshotArray<LeaderboardListener>(LeaderboardListener.class);
+
+    /**
+     * Create a new LeaderboardService. Nothing is loaded until {@link #load()} is called.
+     * @param file Leaderboard file.
+     * @param legacyFile JSON high score file of older versions, migrated if the leaderboard file is missing.
+     */
+    public LeaderboardService(File file, File legacyFile) {
+        this.file = file;
+        this.legacyFile = legacyFile;
+        updateRows(null);
+    }
+
+    /** Start loading the leaderboard on a background thread. Listeners are notified when it is loaded. */
+    public void load() {
+        if (loaderThread != null) {
+            return;
+        }
+        loaderThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                loadedStore = new HighScoreStore(file, legacyFile);
+                Gdx.app.postRunnable(new Runnable() {
+                    @Override
+                    public void run() {
+                        finishLoading();
+                    }
+                });
+            }
+        }, "leaderboard-loader");
+        loaderThread.setDaemon(true);
+        loaderThread.start();
+    }
+
+    /** Take over the store from the loader thread and add the scores submitted while loading. */
+    private void finishLoading() {
+        if (store != null || loadedStore == null) {
+            return;
+        }
+        store = loadedStore;
+        for (int i = 0; i < pendingScores.size; i++) {
+            store.submit(pendingNames.get(i), pendingScores.get(i));
+        }
+        pendingNames.clear();
+        pendingScores.clear();
+        store.start();
+
+        updateRows(store.getSnapshot());
+    }
+
+    /** Check if the leaderboard has been loaded. */
+    public boolean isLoaded() {
+        return store != null;
+    }
+
+    /**
+     * Add a score. Listeners are notified right away, the file is written in the background.
+     * @param name Name of the player.
+     * @param score Score of the player.
+     */
+    public void submit(String name, int score) {
+        System.out.println("Adding new score: " + name + ", " + score);
+        if (store == null) {
+            pendingNames.add(name);
+            pendingScores.add(score);
+            return;
+        }
+        store.submit(name, score);
+        updateRows(store.getSnapshot());
+    }
+
+    /**
+     * Check if a score is a new high score. Any score counts when there are no high scores, otherwise the score has
+     * to beat the lowest of the top scores. No score counts while the high scores are still loading, since it cannot
+     * be compared yet, see {@link #isLoaded()}.
+     */
+    public boolean isHighScore(int score) {
+        return store != null && store.getSnapshot().isHighScore(score);
+    }
+
+    /** Check if a name can be submitted: only letters (A-Ö) and at most 10 characters. */
+    public boolean validateName(String name){
+        name = name.trim(); // Trim any leading or trailing white space
+        String regex = "^[A-Za-zÅÄÖåäö]+$"; // Create the regex string
+
+        // Return true if it matches regex requirements and is less than 10 characters long
+        return name.matches(regex) && name.length() <= 10;
+    }
+
+    /** Rebuild the rows that differ from a snapshot, and notify listeners about them. */
+    private void updateRows(HighScoreSnapshot snapshot) {
+        int firstChangedRow = -1;
+        for (int i = 0; i < ROW_COUNT; i++) {
+            boolean filled = snapshot != null && i < snapshot.getSize();
+            String name = filled ? snapshot.getName(i) : "---";
+            String score = filled ? Integer.toString(snapshot.getScore(i)) : "0";
+
+            if (!name.equals(rowNames[i]) || !score.equals(rowScores[i])) {
+                rowNames[i] = name;
+                rowScores[i] = score;
+                if (firstChangedRow == -1) {
+                    firstChangedRow = i;
+                }
+            }
+        }
+
+        if (firstChangedRow != -1) {
+            LeaderboardListener[] items = listeners.begin();
+            for (int i = 0, n = listeners.size; i < n; i++) {
+                items[i].leaderboardChanged(firstChangedRow);
+            }
+            listeners.end();
+        }
+    }
+
+    /** Get the name of a top row, 0 being the highest score. */
+    public String getRowName(int row) {
+        return rowNames[row];
+    }
+
+    /** Get the score of a top row as text, 0 being the highest score. */
+    public String getRowScore(int row) {
+        return rowScores[row];
+    }
+
+    public void addListener(LeaderboardListener listener) {
+        if (!listeners.contains(listener, true)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(LeaderboardListener listener) {
+        listeners.removeValue(listener, true);
+    }
+
+    /** Write all changes and stop the background threads. */
+    public void dispose() {
+        if (loaderThread != null) {
+            try {
+                loaderThread.join(5000);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        finishLoading(); // In case the game is closed before the loaded leaderboard was taken over
+        if (store != null) {
+            store.close(); // Write the last submitted score before exiting
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.twodstudios.platformjumper;
+
+/**
+ * Preallocated buffer holding the tiles and coins of one level chunk. X-positions are stored relative to the
+ * start of the chunk so that they keep their precision no matter how far into the level the chunk is.
+ */
+public class LevelChunk {
+
+    /** Maximum amount of tiles in one chunk. */
+    public static final int MAX_TILES = (int) (LevelGenerator.CHUNK_WIDTH / LevelGenerator.MIN_TILE_DISTANCE) + 1;
+
+    /** Maximum amount of coins in one chunk. */
+    public static final int MAX_COINS = (int) (LevelGenerator.CHUNK_WIDTH / LevelGenerator.MIN_COIN_DISTANCE) + 1;
+
+    private final float[] tileXPositions = new float[MAX_TILES];
+    private final float[] tileYPositions = new float[MAX_TILES];
+    private final float[] coinXPositions = new float[MAX_COINS];
+    private final float[] coinYPositions = new float[MAX_COINS];
+    private int tileCount;
+    private int coinCount;
+    private int chunkIndex;
+    private long seed;
+
+    /** Empty the chunk and prepare it to be filled with the content of the given chunk index and level seed. */
+    void clear(int chunkIndex, long seed) {
+        this.chunkIndex = chunkIndex;
+        this.seed = seed;
+        this.tileCount = 0;
+        this.coinCount = 0;
+    }
+
+    void addTile(float xPosition, float yPosition) {
+        tileXPositions[tileCount] = xPosition;
+        tileYPositions[tileCount] = yPosition;
+        tileCount++;
+    }
+
+    void setTileYPosition(int tileNumber, float yPosition) {
+        tileYPositions[tileNumber] = yPosition;
+    }
+
+    void addCoin(float xPosition, float yPosition) {
+        coinXPositions[coinCount] = xPosition;
+        coinYPositions[coinCount] = yPosition;
+        coinCount++;
+    }
+
+    /** Get the index of the chunk currently stored in this buffer. */
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    /** Get the seed of the level the chunk currently stored in this buffer belongs to. */
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /** Get X-position of a tile, relative to the start of the chunk. */
+    public float getTileXPosition(int tileNumber) {
+        return tileXPositions[tileNumber];
+    }
+
+    public float getTileYPosition(int tileNumber) {
+        return tileYPositions[tileNumber];
+    }
+
+    public int getCoinCount() {
+        return coinCount;
+    }
+
+    /** Get X-position of a coin, relative to the start of the chunk. */
+    public float getCoinXPosition(int coinNumber) {
+        return coinXPositions[coinNumber];
+    }
+
+    public float getCoinYPosition(int coinNumber) {
+        return coinYPositions[coinNumber];
+    }
+}
@@ -0,0 +1,132 @@
+package com.twodstudios.platformjumper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generates level chunks ahead of time on its own thread and publishes them to a {@link LevelChunkQueue}.
+ * Chunks are generated in order. When the queue is full the producer parks until the game thread has
+ * taken a chunk, so it never runs further ahead than the queue capacity.
+ */
+public class LevelChunkProducer implements Runnable {
+
+    private static final long PARK_NANOS = 10_000_000L; // Upper limit for waiting, in case a wake up is missed
+
+    private final LevelChunkQueue queue;
+    private final LevelGenerator levelGenerator; // Own generator, since generators are not thread-safe
+    private Thread thread;
+    private volatile boolean running;
+    private volatile boolean waiting; // True while the producer is parked on a full queue
+
+    // Restart requests from the game thread. The counter is written last so that the seed and index are visible with it
+    private volatile long requestedSeed;
+    private volatile int requestedChunkIndex;
+    private final AtomicInteger restartCount = new AtomicInteger();
+
+    private volatile long stallCount; // Amount of times the producer had to wait for a full queue, only written by the producer
+
+    /**
+     * Create a new LevelChunkProducer.
+     * @param queue Queue to publish chunks to.
+     * @param seed Seed of the level.
+     * @param startHeight Y-position of the tile right before the first chunk.
+     */
+    public LevelChunkProducer(LevelChunkQueue queue, long seed, float startHeight) {
+        this.queue = queue;
+        this.levelGenerator = new LevelGenerator(seed, startHeight);
+        this.requestedSeed = seed;
+    }
+
+    /** Start generating chunks on a new daemon thread. */
+    public void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "level-chunk-producer");
+        thread.setDaemon(true); // Never keep the application alive
+        thread.start();
+    }
+
+    /** Stop generating chunks and wait for the thread to finish. */
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Start generating from the given chunk of the given level. Chunks already in the queue are not removed,
+     * so the consumer has to skip chunks it doesn't need.
+     * @param seed Seed of the level.
+     * @param chunkIndex Index of the next chunk to generate.
+     */
+    public void restart(long seed, int chunkIndex) {
+        requestedSeed = seed;
+        requestedChunkIndex = chunkIndex;
+        restartCount.incrementAndGet();
+        wakeUp();
+    }
+
+    /** Wake the producer up if it is waiting for a full queue. Call after releasing a chunk from the queue. */
+    public void wakeUp() {
+        Thread producerThread = thread;
+        if (waiting && producerThread != null) {
+            LockSupport.unpark(producerThread);
+        }
+    }
+
+    @Override
+    public void run() {
+        int handledRestarts = -1;
+        int chunkIndex = 0;
+        boolean stalled = false;
+
+        while (running) {
+            int restarts = restartCount.get();
+            if (restarts != handledRestarts) {
+                handledRestarts = restarts;
+                levelGenerator.setSeed(requestedSeed);
+                chunkIndex = requestedChunkIndex;
+            }
+
+            LevelChunk chunk = queue.claim();
+            if (chunk == null) {
+                // Queue is full, the game thread is far behind. Wait until it takes a chunk
+                if (!stalled) {
+                    stalled = true;
+                    stallCount++;
+                }
+                waiting = true;
+                if (queue.claim() == null && restartCount.get() == handledRestarts && running) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                waiting = false;
+                continue;
+            }
+
+            stalled = false;
+            levelGenerator.generateChunk(chunkIndex, chunk);
+            queue.publish();
+            chunkIndex++;
+        }
+    }
+
+    /** Get the queue the producer publishes chunks to. */
+    public LevelChunkQueue getQueue() {
+        return queue;
+    }
+
+    /** Get the amount of times the producer had to wait because the queue was full. */
+    public long getStallCount() {
+        return stallCount;
+    }
+}
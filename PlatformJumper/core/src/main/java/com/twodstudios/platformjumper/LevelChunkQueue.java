@@ -0,0 +1,91 @@
+package com.twodstudios.platformjumper;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, lock-free queue that hands generated level chunks from one producer thread to one consumer thread.
+ * All chunk buffers are allocated up front. The producer fills the buffer returned by {@link #claim()} and
+ * publishes it, the consumer reads the buffer returned by {@link #peek()} and releases it when done, which makes
+ * the buffer available to the producer again.
+ * <p>
+ * Only one thread may call the producer methods and only one other thread may call the consumer methods.
+ */
+public class LevelChunkQueue {
+
+    private final LevelChunk[] chunks;
+    private final int mask;
+
+    // Total amount of chunks published and released. Each index is only written by one thread
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong releasedCount = new AtomicLong();
+
+    // Last seen value of the other thread's index, so that the shared indices are read as rarely as possible
+    private long producerReleasedCount; // Only used by the producer
+    private long consumerPublishedCount; // Only used by the consumer
+
+    /**
+     * Create a new LevelChunkQueue.
+     * @param capacity Maximum amount of chunks waiting in the queue. Must be a power of two.
+     */
+    public LevelChunkQueue(int capacity) {
+        if (capacity < 1 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        chunks = new LevelChunk[capacity];
+        for (int i = 0; i < capacity; i++) {
+            chunks[i] = new LevelChunk();
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Get the next free chunk buffer to fill. Producer only.
+     * @return Chunk buffer, or null if the queue is full.
+     */
+    public LevelChunk claim() {
+        long published = publishedCount.get();
+        if (published - producerReleasedCount >= chunks.length) {
+            producerReleasedCount = releasedCount.get();
+            if (published - producerReleasedCount >= chunks.length) {
+                return null;
+            }
+        }
+        return chunks[(int) published & mask];
+    }
+
+    /** Make the chunk buffer returned by the latest {@link #claim()} available to the consumer. Producer only. */
+    public void publish() {
+        publishedCount.lazySet(publishedCount.get() + 1);
+    }
+
+    /**
+     * Get the oldest published chunk without removing it. Consumer only.
+     * @return Chunk, or null if the queue is empty.
+     */
+    public LevelChunk peek() {
+        long released = releasedCount.get();
+        if (released >= consumerPublishedCount) {
+            consumerPublishedCount = publishedCount.get();
+            if (released >= consumerPublishedCount) {
+                return null;
+            }
+        }
+        return chunks[(int) released & mask];
+    }
+
+    /** Remove the chunk returned by the latest {@link #peek()} and give its buffer back to the producer. Consumer only. */
+    public void release() {
+        releasedCount.lazySet(releasedCount.get() + 1);
+    }
+
+    /** Get the amount of chunks waiting in the queue. Can be called from any thread. */
+    public int size() {
+        long released = releasedCount.get();
+        return (int) (publishedCount.get() - released);
+    }
+
+    /** Get the maximum amount of chunks waiting in the queue. */
+    public int capacity() {
+        return chunks.length;
+    }
+}
@@ -0,0 +1,295 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Deterministic, seeded generator of level chunks. Each chunk covers a fixed width of the level and contains
+ * the tiles and coins within it. The content of a chunk only depends on the seed and the chunk index, so any
+ * chunk can be generated without generating the chunks before it, and the same seed always gives the same level.
+ * <p>
+ * Tile gaps and heights are sampled in closed form from the ranges that satisfy the distance rules, so the cost of
+ * generating a tile is constant. The first tile of every chunk is an anchor with a height derived from the seed.
+ * The last tiles of a chunk are only sampled from heights from which the anchor of the next chunk can still be
+ * reached, which keeps the distance rules intact across chunk borders.
+ * <p>
+ * A LevelGenerator is not thread-safe. Every thread that generates chunks needs its own instance.
+ */
+public class LevelGenerator {
+
+    public static final float CHUNK_WIDTH = 7200; // Width of one chunk in pixels
+    public static final float MIN_TILE_DISTANCE = 300; // Minimum horizontal distance between each tile
+    public static final float MAX_TILE_DISTANCE = 600; // Maximum horizontal distance between each tile
+    public static final float MIN_VERTICAL_DISTANCE = 130; // Minimum vertical distance (height difference) between each tile
+    public static final float MAX_VERTICAL_DISTANCE = 170; // Maximum vertical distance (height difference) between each tile
+    public static final float MIN_TILE_HEIGHT = 64; // Minimum Y-coordinate for any tile
+    public static final float MAX_TILE_HEIGHT = Main.WORLD_HEIGHT - 300; // Maximum Y-coordinate for any tile
+    public static final float MIN_COIN_DISTANCE = 600; // Minimum horizontal distance between each coin
+    public static final float MAX_COIN_DISTANCE = 1500; // Maximum horizontal distance between each coin
+    public static final float MIN_COIN_HEIGHT_ABOVE_TILE = 50; // Minimum height of a coin above the tile before it
+    public static final float MAX_COIN_HEIGHT = Main.WORLD_HEIGHT - 150; // Maximum Y-coordinate for any coin
+
+    // Height sets are stored as sorted, non-overlapping intervals in float arrays: [low0, high0, low1, high1, ...]
+    private static final int MAX_INTERVALS = 4;
+    private static final float TOLERANCE = 0.01f; // Allowed rounding error when intersecting height sets
+
+    private long seed;
+    private final float startHeight; // Height of the tile before the first chunk
+    private final RandomXS128 random = new RandomXS128();
+
+    // Preallocated buffers so that generating a chunk does not allocate
+    private final float[][] reachableSets = new float[LevelChunk.MAX_TILES + 1][2 * MAX_INTERVALS];
+    private final int[] reachableCounts = new int[LevelChunk.MAX_TILES + 1];
+    private final float[] neighbourSet = new float[4];
+    private final float[] candidateSet = new float[4 * MAX_INTERVALS];
+    private final float[] unmergedSet = new float[4 * MAX_INTERVALS];
+
+    /**
+     * Create a new LevelGenerator.
+     * @param seed Seed of the level.
+     * @param startHeight Y-position of the tile right before the first chunk.
+     */
+    public LevelGenerator(long seed, float startHeight) {
+        this.seed = seed;
+        this.startHeight = startHeight;
+    }
+
+    /** Set the seed of the level. Chunks generated afterwards belong to the new level. */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Generate the tiles and coins of a chunk.
+     * @param chunkIndex Index of the chunk, where 0 is the first chunk of the level.
+     * @param chunk Buffer to fill. Any previous content is replaced.
+     */
+    public void generateChunk(int chunkIndex, LevelChunk chunk) {
+        chunk.clear(chunkIndex, seed);
+
+        // Every chunk has its own random stream, so chunks don't depend on each other
+        long state = mix(seed + 0x9E3779B97F4A7C15L * (2L * chunkIndex + 1));
+        random.setState(state, mix(state + 0x9E3779B97F4A7C15L));
+
+        generateTilePositions(chunk, anchorHeight(chunkIndex));
+        generateTileHeights(chunk, anchorHeight(chunkIndex + 1));
+        generateCoins(chunk);
+    }
+
+    /**
+     * Generate the X-positions of all tiles in the chunk. Gaps are sampled so that the last gap,
+     * from the last tile to the first tile of the next chunk, is also within the allowed distance.
+     */
+    private void generateTilePositions(LevelChunk chunk, float anchorHeight) {
+        float xPosition = 0;
+        chunk.addTile(xPosition, anchorHeight);
+
+        float remainingWidth = CHUNK_WIDTH;
+        while (remainingWidth > MAX_TILE_DISTANCE) {
+            // Leave at least the minimum distance to the next chunk
+            float maxDistance = Math.min(MAX_TILE_DISTANCE, remainingWidth - MIN_TILE_DISTANCE);
+            xPosition += MIN_TILE_DISTANCE + random.nextFloat() * (maxDistance - MIN_TILE_DISTANCE);
+            chunk.addTile(xPosition, anchorHeight);
+            remainingWidth = CHUNK_WIDTH - xPosition;
+        }
+    }
+
+    /** Generate the heights of all tiles after the anchor tile so that the next anchor can be reached. */
+    private void generateTileHeights(LevelChunk chunk, float nextAnchorHeight) {
+        int tileCount = chunk.getTileCount();
+        computeReachableSets(nextAnchorHeight, tileCount - 1);
+
+        float previousHeight = chunk.getTileYPosition(0);
+        for (int i = 1; i < tileCount; i++) {
+            int neighbourCount = neighbours(previousHeight, neighbourSet);
+
+            // Heights that are within the distance rules and from which the next anchor can still be reached
+            int remainingSteps = tileCount - i;
+            int candidateCount = intersect(neighbourSet, neighbourCount, reachableSets[remainingSteps], reachableCounts[remainingSteps], candidateSet);
+
+            float height;
+            if (candidateCount > 0) {
+                height = sample(candidateSet, candidateCount);
+            } else {
+                height = sample(neighbourSet, neighbourCount); // Should not happen, but never leave a gap in the level
+            }
+
+            chunk.setTileYPosition(i, height);
+            previousHeight = height;
+        }
+    }
+
+    /** Generate coins spread over the chunk, each placed above the tile before it. */
+    private void generateCoins(LevelChunk chunk) {
+        int tileNumber = 0;
+        float halfMinDistance = MIN_COIN_DISTANCE / 2;
+
+        // Keep half the minimum distance to both chunk borders so that coins in neighbouring chunks are spaced correctly
+        float coinX = halfMinDistance + random.nextFloat() * (MAX_COIN_DISTANCE - MIN_COIN_DISTANCE) / 2;
+        while (coinX <= CHUNK_WIDTH - halfMinDistance) {
+            while (tileNumber + 1 < chunk.getTileCount() && chunk.getTileXPosition(tileNumber + 1) <= coinX) {
+                tileNumber++;
+            }
+
+            float minHeight = chunk.getTileYPosition(tileNumber) + MIN_COIN_HEIGHT_ABOVE_TILE;
+            float coinY = minHeight + random.nextFloat() * (MAX_COIN_HEIGHT - minHeight);
+            chunk.addCoin(coinX, coinY);
+
+            coinX += MIN_COIN_DISTANCE + random.nextFloat() * (MAX_COIN_DISTANCE - MIN_COIN_DISTANCE);
+        }
+    }
+
+    /**
+     * Get the height of the first tile of a chunk. The height only depends on the seed and the chunk index.
+     * The first chunk is connected to the start height instead of using the full height range.
+     */
+    private float anchorHeight(int chunkIndex) {
+        float value = (mix(seed ^ (0xD1B54A32D192ED03L * (chunkIndex + 1))) >>> 40) * 0x1.0p-24f; // Value between 0-1
+        if (chunkIndex == 0) {
+            int count = neighbours(startHeight, neighbourSet);
+            return pick(neighbourSet, count, value);
+        }
+        return MIN_TILE_HEIGHT + value * (MAX_TILE_HEIGHT - MIN_TILE_HEIGHT);
+    }
+
+    /**
+     * Compute, for each amount of remaining steps, the heights from which the given target height can be reached
+     * in exactly that amount of steps. After a few steps every height is reachable, which keeps the work bounded.
+     */
+    private void computeReachableSets(float targetHeight, int maxSteps) {
+        float[] target = reachableSets[0];
+        target[0] = targetHeight;
+        target[1] = targetHeight;
+        reachableCounts[0] = 1;
+
+        for (int steps = 1; steps <= maxSteps; steps++) {
+            float[] previous = reachableSets[steps - 1];
+            int previousCount = reachableCounts[steps - 1];
+
+            if (previousCount == 1 && previous[0] == MIN_TILE_HEIGHT && previous[1] == MAX_TILE_HEIGHT) {
+                System.arraycopy(previous, 0, reachableSets[steps], 0, 2);
+                reachableCounts[steps] = 1;
+                continue;
+            }
+
+            // A height can reach an interval if the interval is between 130-170 pixels above or below it
+            int count = 0;
+            for (int i = 0; i < previousCount; i++) {
+                float low = previous[2 * i];
+                float high = previous[2 * i + 1];
+                count = addClipped(unmergedSet, count, low - MAX_VERTICAL_DISTANCE, high - MIN_VERTICAL_DISTANCE);
+                count = addClipped(unmergedSet, count, low + MIN_VERTICAL_DISTANCE, high + MAX_VERTICAL_DISTANCE);
+            }
+            reachableCounts[steps] = merge(unmergedSet, count, reachableSets[steps]);
+        }
+    }
+
+    /** Store the heights within the distance rules from the given height in the given set. Returns interval count. */
+    private static int neighbours(float height, float[] set) {
+        int count = addClipped(set, 0, height - MAX_VERTICAL_DISTANCE, height - MIN_VERTICAL_DISTANCE);
+        return addClipped(set, count, height + MIN_VERTICAL_DISTANCE, height + MAX_VERTICAL_DISTANCE);
+    }
+
+    /** Add an interval clipped to the allowed tile heights, unless it is empty. Returns the new interval count. */
+    private static int addClipped(float[] set, int count, float low, float high) {
+        low = Math.max(low, MIN_TILE_HEIGHT);
+        high = Math.min(high, MAX_TILE_HEIGHT);
+        if (low <= high) {
+            set[2 * count] = low;
+            set[2 * count + 1] = high;
+            count++;
+        }
+        return count;
+    }
+
+    /** Sort and merge overlapping intervals into the output set. Returns the interval count of the output set. */
+    private static int merge(float[] set, int count, float[] output) {
+        // Insertion sort by lower bound, the sets are tiny
+        for (int i = 1; i < count; i++) {
+            float low = set[2 * i];
+            float high = set[2 * i + 1];
+            int j = i - 1;
+            while (j >= 0 && set[2 * j] > low) {
+                set[2 * j + 2] = set[2 * j];
+                set[2 * j + 3] = set[2 * j + 1];
+                j--;
+            }
+            set[2 * j + 2] = low;
+            set[2 * j + 3] = high;
+        }
+
+        int outputCount = 0;
+        for (int i = 0; i < count; i++) {
+            float low = set[2 * i];
+            float high = set[2 * i + 1];
+            if (outputCount > 0 && low <= output[2 * outputCount - 1]) {
+                output[2 * outputCount - 1] = Math.max(output[2 * outputCount - 1], high);
+            } else {
+                if (outputCount == MAX_INTERVALS) {
+                    throw new IllegalStateException("Too many intervals in height set.");
+                }
+                output[2 * outputCount] = low;
+                output[2 * outputCount + 1] = high;
+                outputCount++;
+            }
+        }
+        return outputCount;
+    }
+
+    /** Intersect two sorted interval sets into the output set. Returns the interval count of the output set. */
+    private static int intersect(float[] first, int firstCount, float[] second, int secondCount, float[] output) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < firstCount && j < secondCount) {
+            float low = Math.max(first[2 * i], second[2 * j]);
+            float high = Math.min(first[2 * i + 1], second[2 * j + 1]);
+            if (low <= high + TOLERANCE) {
+                output[2 * count] = low;
+                output[2 * count + 1] = Math.max(low, high);
+                count++;
+            }
+
+            // Move on from the interval that ends first
+            if (first[2 * i + 1] < second[2 * j + 1]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /** Sample a value uniformly from an interval set using the random stream of the current chunk. */
+    private float sample(float[] set, int count) {
+        return pick(set, count, random.nextFloat());
+    }
+
+    /** Map a value between 0-1 onto an interval set, so that equally long parts of the set are equally likely. */
+    private static float pick(float[] set, int count, float value) {
+        float totalLength = 0;
+        for (int i = 0; i < count; i++) {
+            totalLength += set[2 * i + 1] - set[2 * i];
+        }
+
+        float position = value * totalLength;
+        for (int i = 0; i < count; i++) {
+            float length = set[2 * i + 1] - set[2 * i];
+            if (position <= length || i == count - 1) {
+                return Math.min(set[2 * i] + position, set[2 * i + 1]);
+            }
+            position -= length;
+        }
+        return set[0];
+    }
+
+    /** Scramble the bits of a value (SplitMix64 finalizer). */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
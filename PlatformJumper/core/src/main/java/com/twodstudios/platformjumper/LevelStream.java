@@ -0,0 +1,152 @@
+package com.twodstudios.platformjumper;
+
+/**
+ * Feeds generated level chunks into {@link Tiles} and {@link CoinManager} as the level scrolls by.
+ * The level starts after the initial tiles and continues with chunk 0, 1, 2 and so on.
+ * <p>
+ * Chunks are generated on the game thread by default. After {@link #startBackgroundGeneration(int)} they are
+ * generated ahead of time by a {@link LevelChunkProducer}, and the game thread only copies ready chunks into
+ * the level. If no matching chunk is ready, the chunk is generated on the game thread instead. Both ways give
+ * exactly the same level, since a chunk only depends on the seed and its index.
+ */
+public class LevelStream implements Resettable <LevelStream> {
+
+    private final Tiles tiles;
+    private final CoinManager coinManager;
+    private final LevelGenerator levelGenerator;
+    private final LevelChunk chunk = new LevelChunk(); // Reused buffer for chunks generated on the game thread
+    private final float levelStartX; // Screen X-position of the start of chunk 0 before the level has moved
+    private final float startHeight; // Y-position of the last initial tile
+    private LevelChunkProducer producer; // Null while chunks are generated on the game thread
+    private long consumerMisses; // Amount of chunks that were not ready and had to be generated on the game thread
+
+    private int nextChunkIndex; // Index of the next chunk to add
+    private double distanceTravelled; // Total distance the level has moved since the last reset
+
+    /**
+     * Create a new LevelStream. The initial tiles must already have been added to the tiles.
+     * @param tiles Tiles to add generated tiles to.
+     * @param coinManager CoinManager to add generated coins to.
+     * @param seed Seed of the level.
+     */
+    public LevelStream(Tiles tiles, CoinManager coinManager, long seed) {
+        this.tiles = tiles;
+        this.coinManager = coinManager;
+
+        // Place the first chunk at an average tile distance from the last initial tile
+        this.levelStartX = tiles.getLastXPosition() + (LevelGenerator.MIN_TILE_DISTANCE + LevelGenerator.MAX_TILE_DISTANCE) / 2;
+        this.startHeight = tiles.getLastYPosition();
+        this.levelGenerator = new LevelGenerator(seed, startHeight);
+    }
+
+    /**
+     * Generate chunks ahead of time on a background thread.
+     * @param queueCapacity Maximum amount of chunks generated ahead. Must be a power of two.
+     */
+    public void startBackgroundGeneration(int queueCapacity) {
+        if (producer != null) {
+            return;
+        }
+        producer = new LevelChunkProducer(new LevelChunkQueue(queueCapacity), getSeed(), startHeight);
+        producer.restart(getSeed(), nextChunkIndex);
+        producer.start();
+    }
+
+    /** Stop the background thread and generate chunks on the game thread again. */
+    public void stopBackgroundGeneration() {
+        if (producer != null) {
+            producer.stop();
+            producer = null;
+        }
+    }
+
+    /** Add chunks until there is a buffer of tiles up to 500 pixels beyond the right edge of the screen. */
+    public void fillBuffer() {
+        while (tiles.getLastXPosition() < Main.WORLD_WIDTH + 500) {
+            LevelChunk chunk = nextChunk();
+
+            // Convert chunk-local positions to screen positions
+            float chunkStartX = (float) (levelStartX + (double) nextChunkIndex * LevelGenerator.CHUNK_WIDTH - distanceTravelled);
+            for (int i = 0; i < chunk.getTileCount(); i++) {
+                tiles.addTile(chunkStartX + chunk.getTileXPosition(i), chunk.getTileYPosition(i));
+            }
+            for (int i = 0; i < chunk.getCoinCount(); i++) {
+                coinManager.spawnCoin(chunkStartX + chunk.getCoinXPosition(i), chunk.getCoinYPosition(i));
+            }
+
+            // Give the buffer back to the producer
+            if (chunk != this.chunk) {
+                producer.getQueue().release();
+                producer.wakeUp();
+            }
+            nextChunkIndex++;
+        }
+    }
+
+    /** Get the next chunk of the level, from the background thread if it is ready. */
+    private LevelChunk nextChunk() {
+        if (producer != null) {
+            LevelChunkQueue queue = producer.getQueue();
+            LevelChunk readyChunk;
+            while ((readyChunk = queue.peek()) != null) {
+                if (readyChunk.getChunkIndex() == nextChunkIndex && readyChunk.getSeed() == getSeed()) {
+                    return readyChunk;
+                }
+                // Skip chunks of an earlier run or chunks that were already generated on the game thread
+                queue.release();
+                producer.wakeUp();
+            }
+            consumerMisses++;
+        }
+
+        levelGenerator.generateChunk(nextChunkIndex, chunk);
+        return chunk;
+    }
+
+    /**
+     * Keep track of how far the level has moved.
+     * @param distance Distance the tiles and coins moved towards the left.
+     */
+    public void advance(float distance) {
+        distanceTravelled += distance;
+    }
+
+    /** Get the amount of chunks waiting to be added, or 0 when chunks are generated on the game thread. */
+    public int getQueueDepth() {
+        return producer != null ? producer.getQueue().size() : 0;
+    }
+
+    /** Get the amount of times the background thread had to wait because the game thread was far behind. */
+    public long getProducerStalls() {
+        return producer != null ? producer.getStallCount() : 0;
+    }
+
+    /** Get the amount of chunks that were not ready in time and were generated on the game thread. */
+    public long getConsumerMisses() {
+        return consumerMisses;
+    }
+
+    /** Get the seed of the current level. */
+    public long getSeed() {
+        return levelGenerator.getSeed();
+    }
+
+    /**
+     * Start the level over with a new seed. The initial tiles must already have been added to the tiles.
+     * @param seed Seed of the new level.
+     */
+    public void reset(long seed) {
+        levelGenerator.setSeed(seed);
+        reset();
+    }
+
+    /** Start the level over with the current seed. */
+    @Override
+    public void reset() {
+        nextChunkIndex = 0;
+        distanceTravelled = 0;
+        if (producer != null) {
+            producer.restart(getSeed(), nextChunkIndex);
+        }
+    }
+}
@@ -1,24 +1,86 @@
 package com.twodstudios.platformjumper;
 
 import com.badlogic.gdx.*;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.twodstudios.platformjumper.screens.LoadingScreen;
 import com.twodstudios.platformjumper.screens.StartMenuScreen;
 
 /** {@link com.badlogic.gdx.ApplicationListener} implementation shared by all platforms. */
 public class Main extends Game {
-    public SpriteBatch spriteBatch;
+    public SpriteBatch spriteBatch; // The only sprite batch, shared by the world, the effects and all stages
+    public ShapeRenderer shapeRenderer; // The only shape renderer, shared by all loading screens
     public SoundManager soundManager;
     public static final float WORLD_WIDTH = 1171;
     public static final float WORLD_HEIGHT = 659;
     public SharedAssets sharedAssets;
+    public Assets assets;
+    public LeaderboardService leaderboardService;
 
     @Override
     public void create() {
         spriteBatch = new SpriteBatch();
-        soundManager = new SoundManager();
-        sharedAssets = new SharedAssets(this.spriteBatch);
-        setScreen(new StartMenuScreen(this, sharedAssets, soundManager));
+        shapeRenderer = new ShapeRenderer();
+        assets = new Assets();
+        leaderboardService = new LeaderboardService(Gdx.files.local("high_scores.bin").file(), Gdx.files.local("high_scores.json").file());
+        leaderboardService.load(); // Loads in the background while the menu assets load
 
+        // Load the shared and start menu assets before showing the start menu
+        loadScreen(new LoadingScreen.ScreenFactory() {
+            @Override
+            public Screen createScreen() {
+                soundManager = new SoundManager(assets);
+                sharedAssets = new SharedAssets(spriteBatch, assets);
+                return new StartMenuScreen(Main.this, sharedAssets, soundManager);
+            }
+        }, Assets.Group.SHARED, Assets.Group.MENU);
+    }
+
+    /**
+     * Show a screen once the given asset groups are loaded. A loading screen is shown while they load.
+     * @param screenFactory Creates the screen after its assets are loaded.
+     * @param groups Asset groups the screen needs.
+     */
+    public void loadScreen(LoadingScreen.ScreenFactory screenFactory, Assets.Group... groups) {
+        boolean loaded = true;
+        for (Assets.Group group : groups) {
+            loaded &= assets.isLoaded(group);
+        }
+
+        if (loaded) {
+            setScreen(screenFactory.createScreen());
+        } else {
+            setScreen(new LoadingScreen(this, screenFactory, groups));
+        }
+    }
+
+    /** Switch to another screen, recording the switch as a {@link ScreenTransitionEvent}. */
+    @Override
+    public void setScreen(Screen screen) {
+        ScreenTransitionEvent event = new ScreenTransitionEvent();
+        event.begin();
+        Screen previousScreen = getScreen();
+
+        super.setScreen(screen);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.fromScreen = previousScreen != null ? previousScreen.getClass().getSimpleName() : null;
+            event.toScreen = screen != null ? screen.getClass().getSimpleName() : null;
+            event.commit();
+        }
+    }
+
+    /**
+     * Draw a stage that was created with the shared sprite batch. Must be called outside of spriteBatch.begin() and
+     * end(). The stage sets the projection of the batch to its own camera, and leaves the color of its last actor on
+     * the batch, so the color is reset to white afterwards. Whoever draws next sets its own projection.
+     */
+    public static void drawStage(Stage stage) {
+        stage.draw();
+        stage.getBatch().setColor(Color.WHITE);
     }
 
     @Override
@@ -29,5 +91,8 @@ public class Main extends Game {
     @Override
     public void dispose() {
         spriteBatch.dispose();
+        shapeRenderer.dispose();
+        assets.dispose();
+        leaderboardService.dispose(); // Write the last submitted high score before exiting
     }
 }
@@ -0,0 +1,203 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Particle effects built on {@link ParticleEffectPool}. Effects are registered once as named prototypes, and every
+ * instance is taken from the pool of its prototype, so starting an effect does not allocate once the pool is warm.
+ * Instances are created with all their particles, since an emitter otherwise creates a particle the first time it
+ * emits more particles at once than before, which can be many frames after the effect was first drawn.
+ * <p>
+ * One-shot effects are started with {@link #spawn} and owned by the system: they are updated and drawn by
+ * {@link #draw} and go back to their pool when they are complete. Continuous effects are taken with {@link #obtain}
+ * and drawn by their owner with {@link #drawEffect}.
+ * <p>
+ * Every live effect reserves the maximum particle count of its emitters from a budget. Effects that do not fit in
+ * the budget are not started, so the amount of particles stays bounded however many effects fire at once. Effects
+ * outside the view of the {@link ViewCuller} are updated, but not drawn.
+ */
+public class ParticleSystem implements Disposable {
+
+    private final Batch spriteBatch;
+    private final int particleBudget;
+    private int reservedParticles; // Maximum particle count of all live effects
+
+    // Prototypes
+    private final ObjectMap<String, ParticleEffectPool> pools = new ObjectMap<String, ParticleEffectPool>();
+    private final ObjectIntMap<String> particleCounts = new ObjectIntMap<String>(); // Maximum particle count of each prototype
+
+    private final Array<PooledEffect> effects = new Array<PooledEffect>(); // Live one-shot effects, in the order they were started
+    private ViewCuller viewCuller; // Null draws every effect
+
+    /**
+     * Create a new ParticleSystem.
+     * @param spriteBatch Spritebatch that handles drawing in the game.
+     * @param particleBudget Maximum amount of particles of all live effects together.
+     */
+    public ParticleSystem(Batch spriteBatch, int particleBudget) {
+        this.spriteBatch = spriteBatch;
+        this.particleBudget = particleBudget;
+    }
+
+    /**
+     * Register a named prototype. The effect is copied and scaled once, all instances share the scale of the copy.
+     * A prototype that is already registered is kept as it is.
+     * @param name Name to start the effect with.
+     * @param effect Loaded particle effect.
+     * @param scale Scale of the effect.
+     * @param max Maximum amount of free instances kept in the pool.
+     */
+    public void addPrototype(String name, ParticleEffect effect, float scale, int max) {
+        if (pools.containsKey(name)) {
+            return;
+        }
+        ParticleEffect prototype = new ParticleEffect(effect);
+        prototype.scaleEffect(scale);
+        pools.put(name, new ParticleEffectPool(prototype, 1, max) {
+            @Override
+            protected PooledEffect newObject() {
+                PooledEffect effect = super.newObject();
+                Array<ParticleEmitter> emitters = effect.getEmitters();
+                for (int i = 0; i < emitters.size; i++) {
+                    ParticleEmitter emitter = emitters.get(i);
+                    emitter.addParticles(emitter.getMaxParticleCount()); // Creates the particles
+                    emitter.reset(); // Removes them again, the particles are kept for reuse
+                }
+                return effect;
+            }
+        });
+        particleCounts.put(name, getMaxParticleCount(prototype));
+    }
+
+    /** Set the view effects are culled against, or null to draw all effects. */
+    public void setViewCuller(ViewCuller viewCuller) {
+        this.viewCuller = viewCuller;
+    }
+
+    /**
+     * Start an effect that is owned by the caller. It must be drawn with {@link #drawEffect} and given back with
+     * {@link #free}.
+     * @param name Name of the prototype.
+     * @param x X position in world units.
+     * @param y Y position in world units.
+     * @return The started effect, or null if it does not fit in the particle budget.
+     */
+    public PooledEffect obtain(String name, float x, float y) {
+        ParticleEffectPool pool = pools.get(name);
+        if (pool == null) {
+            throw new IllegalArgumentException("Unknown particle effect: " + name);
+        }
+
+        int particles = particleCounts.get(name, 0);
+        if (reservedParticles + particles > particleBudget) {
+            return null;
+        }
+        reservedParticles += particles;
+
+        PooledEffect effect = pool.obtain();
+        effect.setPosition(x, y);
+        effect.start();
+        return effect;
+    }
+
+    /**
+     * Start a one-shot effect. It is drawn by {@link #draw} until it is complete.
+     * @param name Name of the prototype.
+     * @param x X position in world units.
+     * @param y Y position in world units.
+     * @return False if the effect does not fit in the particle budget and was not started.
+     */
+    public boolean spawn(String name, float x, float y) {
+        PooledEffect effect = obtain(name, x, y);
+        if (effect == null) {
+            return false;
+        }
+        effects.add(effect);
+        return true;
+    }
+
+    /** Give an effect taken with {@link #obtain} back to its pool. */
+    public void free(PooledEffect effect) {
+        reservedParticles -= getMaxParticleCount(effect);
+        effect.free();
+    }
+
+    /** Update and draw all one-shot effects, and give back the effects that are complete. */
+    public void draw(float deltaTime) {
+        for (int i = 0; i < effects.size; i++) {
+            PooledEffect effect = effects.get(i);
+            drawEffect(effect, deltaTime);
+            if (effect.isComplete()) {
+                effects.removeIndex(i--);
+                free(effect);
+            }
+        }
+    }
+
+    /** Update an effect, and draw it if it is in view. */
+    public void drawEffect(ParticleEffect effect, float deltaTime) {
+        effect.update(deltaTime);
+        if (isInView(effect)) {
+            effect.draw(spriteBatch);
+        }
+    }
+
+    /**
+     * Check if an effect is in view. The effect is checked with the bounds of its particles, extended to the origin
+     * of its first emitter so that effects that start in view are drawn right away.
+     */
+    private boolean isInView(ParticleEffect effect) {
+        if (viewCuller == null) {
+            return true;
+        }
+        ParticleEmitter emitter = effect.getEmitters().first();
+        BoundingBox bounds = effect.getBoundingBox(); // Empty when no particles are alive, which leaves the origin
+        float minX = Math.min(bounds.min.x, emitter.getX());
+        float minY = Math.min(bounds.min.y, emitter.getY());
+        float maxX = Math.max(bounds.max.x, emitter.getX());
+        float maxY = Math.max(bounds.max.y, emitter.getY());
+        return viewCuller.isVisible(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    /** Get the amount of particles of all live effects together at most. */
+    public int getReservedParticles() {
+        return reservedParticles;
+    }
+
+    /** Give all one-shot effects back to their pools. */
+    public void clear() {
+        for (int i = 0; i < effects.size; i++) {
+            free(effects.get(i));
+        }
+        effects.clear();
+    }
+
+    private static int getMaxParticleCount(ParticleEffect effect) {
+        int count = 0;
+        Array<ParticleEmitter> emitters = effect.getEmitters();
+        for (int i = 0; i < emitters.size; i++) {
+            count += emitters.get(i).getMaxParticleCount();
+        }
+        return count;
+    }
+
+    /** Give back all one-shot effects and empty the pools. The textures belong to the loaded effects. */
+    @Override
+    public void dispose() {
+        clear();
+        for (ParticleEffectPool pool : pools.values()) {
+            pool.clear();
+        }
+        pools.clear();
+        particleCounts.clear();
+    }
+}
@@ -1,6 +1,5 @@
 package com.twodstudios.platformjumper;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
@@ -48,11 +47,11 @@ public class PauseState {
         this.uiCreated = false; // Flag to check if UI has been created
         this.paused = false;
 
-        // Load the skin
-        this.skin = new Skin(Gdx.files.internal("atlas/main_menu.json"));
+        // Get the skin
+        this.skin = game.assets.getSkin(Assets.MAIN_MENU_SKIN);
 
         // Create stage and table
-        this.stage = new Stage(new ScreenViewport());
+        this.stage = new Stage(new ScreenViewport(), game.spriteBatch); // Shared batch, not owned by the stage
         this.table = new Table();
         table.setFillParent(true);
         table.center().padTop(100);
@@ -64,8 +63,8 @@ public class PauseState {
     /** Create pause menu UI*/
     private void createPauseUI() {
 
-        // Create freetype font generator to convert ttf font to bitmap font in run time
-        generator = new FreeTypeFontGenerator(Gdx.files.internal("fonts/Jersey10-Regular.ttf"));
+        // Get freetype font generator to convert ttf font to bitmap font in run time
+        generator = game.assets.getFontGenerator(Assets.PAUSE_FONT);
         // Change fonts settings
         parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
         parameter.size = 150;
@@ -108,9 +107,17 @@ public class PauseState {
         if (!uiCreated) {
             createPauseUI();
         }
-        Gdx.input.setInputProcessor(stage);
         stage.act();
-        stage.draw();
+        Main.drawStage(stage);
+    }
+
+    /** Dispose of the stage and the generated font. The sprite batch is shared and stays alive. */
+    public void dispose() {
+        stage.dispose();
+        if (font != null) {
+            font.dispose();
+            font = null;
+        }
     }
 
     public Stage getStage() {
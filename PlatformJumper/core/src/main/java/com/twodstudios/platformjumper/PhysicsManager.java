@@ -3,109 +3,231 @@ package com.twodstudios.platformjumper;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
 
-/** Class to handle all physics and collision checks in the game. */
+/**
+ * Class to handle all physics and collision checks in the game.
+ * <p>
+ * Collisions are detected continuously: during a step the player follows its exact path under gravity while tiles
+ * and coins move left, and the whole path is checked instead of only the position at the end of the step. The
+ * earliest landing on a tile or touch of the ground ends the part of the step it happens in, and the rest of the
+ * step continues from there. Nothing is passed through at large steps or fall speeds, and the outcome does not
+ * depend on the length of the steps.
+ */
 public class PhysicsManager {
 
+    private static final float LANDING_DEPTH = 0.4f; // Part of the tile height the player may sink in and still land
+
     private final Player player;
     private final Tiles tiles;
-    private final Array<Coin> coins;
-    private final SoundManager soundManager;
-    private final ScoreUpdater scoreUpdater;
-    private Array<Float> tileXPositions;
-    private Array<Float> tileYPositions;
+    private final CoinManager coinManager;
+    private final GameEventListener gameEventListener;
     private Rectangle playerRectangle;
-    private Rectangle tileRectangle;
     private int tileHeight;
     private final float gravity = 980f;
+    private float landingTime; // Time of the landing found by the latest findLandingTile
 
     /**
      * Create instance of PhysicsManager.
      * @param player Player object for PhysicsManager to make collision checks with.
      * @param tiles Tiles object for PhysicsManager to make collision checks with.
-     * @param soundManager Sound manager to play game over sound when player dies.
-     * @param coins Coins manager for PhysicsManager to make collision checks with.
-     * @param scoreUpdater ScoreUpdater object for PhysicsManager to update score when colliding with coins.
+     * @param coinManager Coin manager for PhysicsManager to make collision checks with.
+     * @param gameEventListener Listener to inform when a coin has been collected or the player has died.
      */
-    public PhysicsManager(Player player, Tiles tiles, SoundManager soundManager, Array<Coin> coins, ScoreUpdater scoreUpdater) {
+    public PhysicsManager(Player player, Tiles tiles, CoinManager coinManager, GameEventListener gameEventListener) {
         this.player = player;
         this.tiles = tiles;
-        this.soundManager = soundManager;
-        this.coins = coins;
-        this.scoreUpdater = scoreUpdater;
+        this.coinManager = coinManager;
+        this.gameEventListener = gameEventListener;
     }
 
-    /** Checks if the player has collided with a tile or hit the bottom.
-     * When collision is detected it will reset the velocity to 0 and stop
-     * the jumping animation. It will also initiate the death animation if the bottom has been reached. */
-    public void checkCollision() {
+    /**
+     * Move the player by one simulation step according to gravity, and resolve collisions with tiles, coins and
+     * the ground along the way. A landing on a tile resets the velocity to 0 and stops the jumping animation, and
+     * the player stands on the tile until it has moved away from under the player. Reaching the ground initiates
+     * the death animation. Tiles and coins are moved afterwards by {@link GameWorld}.
+     * @param deltaTime Duration of the step in seconds.
+     */
+    public void step(float deltaTime) {
 
         // Set position of rectangle representing the player
         player.updateRectanglePosition();
         playerRectangle = player.getRectangle();
-
-
         tileHeight = tiles.getTileHeight();
 
-        // If character is going down check for potential tile collision
-        if (player.getVerticalVelocity() <= 0) {
-
-            tileXPositions = tiles.getXPositions();
+        float elapsed = 0; // Time of the step that has been simulated
+        while (true) {
+            float remaining = deltaTime - elapsed;
+            float y = player.getYPosition();
+            float velocity = player.getVerticalVelocity();
+
+            // Earliest landing on a tile and earliest touch of the ground during the rest of the step
+            int landingTile = findLandingTile(y, velocity, elapsed, remaining);
+            float groundTime = getGroundTime(y, velocity);
+
+            if (landingTile != -1 && landingTime <= groundTime) {
+                checkCoinCollision(y, velocity, gravity, elapsed, landingTime);
+                float tileTop = tiles.getYPosition(landingTile) + tileHeight;
+                player.setYPosition(tileTop); // Put player on top of the tile
+                player.setJumping(false); // Flag to stop the jumping animation
+                player.setVerticalVelocity(0f); // Set velocity to 0 to stop player from falling
+                elapsed += landingTime;
+
+                // Stand on the tile until it has moved away from under the player, then fall from there
+                float standTime = getTimeUntilTileLeaves(landingTile, elapsed);
+                if (standTime >= deltaTime - elapsed) {
+                    checkCoinCollision(tileTop, 0, 0, elapsed, deltaTime - elapsed);
+                    break;
+                }
+                checkCoinCollision(tileTop, 0, 0, elapsed, standTime);
+                elapsed += standTime;
+            } else if (groundTime <= remaining) {
+                checkCoinCollision(y, velocity, gravity, elapsed, groundTime);
+                die(); // Player has collided with the ground
+                break;
+            } else {
+                checkCoinCollision(y, velocity, gravity, elapsed, remaining);
+                player.setYPosition(getPathY(y, velocity, gravity, remaining));
+                player.setVerticalVelocity(velocity - gravity * remaining);
+                break;
+            }
+        }
+        player.updateRectanglePosition();
+    }
 
-            // Loop through all current tiles
-            for (int i = 0; i < tileXPositions.size; i++) {
-                float tileY = tiles.getYPosition(i); // Temporarily store Y-position of tile
+    /**
+     * Find the tile the player lands on first during a part of the step. The player lands on a tile at the first
+     * moment it moves down while overlapping the tile, with its bottom in the top part of the tile.
+     * @param y Y-position of the player at the start of the part.
+     * @param velocity Vertical velocity of the player at the start of the part.
+     * @param elapsed Time of the step before the part, which the tiles have moved for.
+     * @param duration Duration of the part.
+     * @return Index of the tile, or -1 if the player lands on no tile. The time of the landing from the start of
+     * the part is stored in {@link #landingTime}.
+     */
+    private int findLandingTile(float y, float velocity, float elapsed, float duration) {
+        float tileSpeed = tiles.getSpeed();
+        float tileWidth = tiles.getTileWidth();
+        float playerLeft = playerRectangle.x;
+        float playerRight = playerRectangle.x + playerRectangle.width;
+        float apexTime = velocity > 0 ? velocity / gravity : 0; // The player moves down from here on
+
+        int landingTile = -1;
+        landingTime = Float.MAX_VALUE;
+
+        // Only check tiles that overlap the player horizontally during the part. Tiles are sorted by X-position and
+        // move left, so the search starts at the first tile ending after the player's left edge
+        int tileCount = tiles.getTileCount();
+        for (int i = tiles.findFirstTileEndingAfter(playerLeft + tileSpeed * elapsed); i < tileCount; i++) {
+            float tileX = tiles.getXPosition(i) - tileSpeed * elapsed;
+            if (tileX - tileSpeed * duration >= playerRight) {
+                break;
+            }
+            float tileTop = tiles.getYPosition(i) + tileHeight;
 
-                // Set position of rectangle representing the tile
-                tiles.updateRectanglePosition(i);
-                tileRectangle = tiles.getRectangle();
+            // Earliest time the tile is under the player and the player moves down
+            float time = Math.max(apexTime, Math.max(0, (tileX - playerRight) / tileSpeed));
+            float leaveTime = (tileX + tileWidth - playerLeft) / tileSpeed;
 
-                // Checks if the player overlaps with any tile that is under the player
-                if (playerRectangle.overlaps(tileRectangle) && playerRectangle.y >= tileRectangle.y + (tileHeight * 0.6)) {
-                    player.setYPosition(tileY + tileHeight); // Put player on top of the tile
-                    player.setJumping(false); // Flag to stop the jumping animation
-                    player.setVerticalVelocity(0f); // Set velocity to 0 to stop player from falling
-                    break;
-                }
+            // If the player is above the tile at that time, wait until it has come down to the top of the tile
+            float pathY = getPathY(y, velocity, gravity, time);
+            if (pathY > tileTop) {
+                time = getDescentTime(y, velocity, tileTop);
+                pathY = tileTop;
             }
 
+            if (time < landingTime && time <= duration && time < leaveTime && pathY >= tileTop - tileHeight * LANDING_DEPTH) {
+                landingTile = i;
+                landingTime = time;
+            }
         }
-        checkCoinCollision(); // Check for collision with any coins
+        return landingTile;
+    }
+
+    /**
+     * Get the time until a tile that moves left no longer is under the player.
+     * @param tile Index of the tile.
+     * @param elapsed Time of the step that the tiles have moved for.
+     */
+    private float getTimeUntilTileLeaves(int tile, float elapsed) {
+        float tileSpeed = tiles.getSpeed();
+        float tileRight = tiles.getXPosition(tile) - tileSpeed * elapsed + tiles.getTileWidth();
+        return Math.max(0, (tileRight - playerRectangle.x) / tileSpeed);
+    }
+
+    /** Get the time until the player touches the ground, from a position and velocity. */
+    private float getGroundTime(float y, float velocity) {
+        return y <= 0 ? 0 : getDescentTime(y, velocity, 0);
+    }
+
+    /**
+     * Get the time until the player comes down to a height, from a position above it.
+     * @param y Y-position of the player, above the height.
+     * @param velocity Vertical velocity of the player.
+     * @param height Height to come down to.
+     */
+    private float getDescentTime(float y, float velocity, float height) {
+        return (velocity + (float) Math.sqrt(velocity * velocity + 2 * gravity * (y - height))) / gravity;
+    }
 
-        checkGroundCollision(); // Check if player has collided with the ground, if so player dies
+    /** Get the Y-position of the player on a path after some time. */
+    private static float getPathY(float y, float velocity, float gravity, float time) {
+        return y + velocity * time - gravity * time * time / 2;
     }
 
-    /** Check for collision with any coins. */
-    private void checkCoinCollision(){
-        for (int i = 0; i < coins.size; i++) {
+    /**
+     * Check for collision with any coins along a part of the path of the player. Several coins can be picked up
+     * during the same step.
+     * @param y Y-position of the player at the start of the part.
+     * @param velocity Vertical velocity of the player at the start of the part.
+     * @param gravity Gravity during the part, 0 when the player stands on a tile.
+     * @param elapsed Time of the step before the part, which the coins have moved for.
+     * @param duration Duration of the part.
+     */
+    private void checkCoinCollision(float y, float velocity, float gravity, float elapsed, float duration){
+        Array<Coin> coins = coinManager.getCoins();
+        float coinSpeed = coinManager.getSpeed();
+        float playerLeft = playerRectangle.x;
+        float playerRight = playerRectangle.x + playerRectangle.width;
+
+        // Coins are sorted by X-position, so only the coins overlapping the player horizontally are checked
+        int i = coinManager.findFirstCoinEndingAfter(playerLeft + coinSpeed * elapsed);
+        while (i < coins.size) {
             Coin coin = coins.get(i);
-            if (playerRectangle.overlaps(coin.getRectangle())) {
-                coins.removeIndex(i);
-                scoreUpdater.increaseScore();
-                soundManager.coinPickupSound();
+            float coinX = coin.getX() - coinSpeed * elapsed;
+            if (coinX - coinSpeed * duration >= playerRight) {
                 break;
             }
-        }
-    }
-
-    /** Checks if player has collided with the ground. Sets player state to dead after collision is confirmed. */
-    private void checkGroundCollision(){
-        // Logic that checks if character touches the ground
-        if (player.getYPosition() <= 0) {
-            player.setYPosition(0);  // Set character position firmly to 0 to ensure it's not set beyond the floor
-            player.setDead(true); // Change flag to initiate death animation
-            player.setAnimationTime(0); // Reset animation time so death animation starts at first animation frame
-            player.setVerticalVelocity(0f); // Set velocity to 0 to stop character from falling
-            player.setJumping(false); // Stop jumping animation instantly
-            soundManager.stopBackgroundMusic(); // Stop background music
-            soundManager.playGameOverSound(); // Play game over sound
 
+            // Time the coin overlaps the player horizontally, and the lowest and highest player position meanwhile
+            float start = Math.max(0, (coinX - playerRight) / coinSpeed);
+            float end = Math.min(duration, (coinX + coin.getWidth() - playerLeft) / coinSpeed);
+            boolean collected = false;
+            if (start <= end) {
+                float startY = getPathY(y, velocity, gravity, start);
+                float endY = getPathY(y, velocity, gravity, end);
+                float lowest = Math.min(startY, endY);
+                float highest = Math.max(startY, endY);
+                if (gravity > 0 && velocity / gravity > start && velocity / gravity < end) {
+                    highest = getPathY(y, velocity, gravity, velocity / gravity); // Top of the jump
+                }
+                collected = lowest < coin.getY() + coin.getHeight() && highest + playerRectangle.height > coin.getY();
+            }
 
+            if (collected) {
+                coinManager.collectCoin(i); // Next coin moves into index i
+                gameEventListener.coinCollected();
+            } else {
+                i++;
+            }
         }
     }
 
-    /** Applies physics so that the character falls according to gravity. */
-    public void applyGravity(float deltaTime) {
-        player.updateVerticalVelocity(-(gravity * deltaTime)); // Decrease or increase velocity according to gravity over time (pixels/s)
-        player.updateYposition(player.getVerticalVelocity() * deltaTime); // Change character position up or down based on velocity and how much time has passed
+    /** Sets player state to dead after it has collided with the ground. */
+    private void die(){
+        player.setYPosition(0);  // Set character position firmly to 0 to ensure it's not set beyond the floor
+        player.setDead(true); // Change flag to initiate death animation
+        player.setAnimationTime(0); // Reset animation time so death animation starts at first animation frame
+        player.setVerticalVelocity(0f); // Set velocity to 0 to stop character from falling
+        player.setJumping(false); // Stop jumping animation instantly
+        gameEventListener.playerDied(); // Inform listener so it can e.g. play the game over sound
     }
 }
@@ -1,40 +1,27 @@
 package com.twodstudios.platformjumper;
 
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
-import static com.twodstudios.platformjumper.AnimationManager.*;
-
+/** Holds the state of the player. Drawing is handled by {@link PlayerRenderer}. */
 public class Player implements Resettable <Player> {
 
-    private final SpriteBatch spriteBatch;
+    // Vertical velocity at the start of a jump. Reaches the same height (about 179 pixels) on the exact path of
+    // PhysicsManager as a jump of 600 pixels/s did with the earlier velocity-then-position steps at 60 Hz
+    public static final float JUMP_VELOCITY = 591.8f;
 
     // Player variables
     private final int width;
     private final int height;
     private final float xPosition;
+    private final float initialYPosition;
     private float yPosition;
+    private float previousYPosition; // Y-position before the latest simulation step, used for interpolation
     private float animationTime; // Time since start of animation
     private float verticalVelocity = 0f; // Speed of which player moves up or down
     private boolean isJumping; // Flag to check if the player is jumping
     private boolean isDead; // Flag to check if the player is dead
 
-    // Player Texture Atlas, Texture Regions & Animation Objects
-    private TextureAtlas atlas; // Atlas with all player animation frames
-    private final TextureRegion[] idleTextureRegions = new TextureRegion[10];
-    private final TextureRegion[] runningTextureRegions = new TextureRegion[10];
-    private final TextureRegion[] jumpingTextureRegions = new TextureRegion[10];
-    private final TextureRegion[] deadTextureRegions = new TextureRegion[10];
-    private Animation<TextureRegion> idleAnimation;
-    private Animation<TextureRegion> runningAnimation;
-    private Animation<TextureRegion> jumpingAnimation;
-    private Animation<TextureRegion> deathAnimation;
-
     // Collision variable
     private Rectangle rectangle;
 
@@ -46,13 +33,14 @@ public class Player implements Resettable <Player> {
      * @param playerXPosition Initial X-position of player.
      * @param playerYPosition Initial Y-position of player.
      */
-    public Player(SpriteBatch spriteBatch, int playerWidth, int playerHeight, float playerXPosition, float playerYPosition) {
+    public Player(int playerWidth, int playerHeight, float playerXPosition, float playerYPosition) {
 
-        this.spriteBatch = spriteBatch;
         this.width = playerWidth;
         this.height = playerHeight;
         this.xPosition = playerXPosition;
+        this.initialYPosition = playerYPosition;
         this.yPosition = playerYPosition;
+        this.previousYPosition = playerYPosition;
         setupPlayer();
 
     }
@@ -62,20 +50,6 @@ public class Player implements Resettable <Player> {
      */
     private void setupPlayer(){
 
-        atlas = new TextureAtlas(Gdx.files.internal("atlas/character.atlas")); // Load all player assets
-
-        // Create idle animation
-        idleAnimation = createAnimation(atlas, idleTextureRegions, "Idle", 1/10f);
-
-        // Create running animation
-        runningAnimation = createAnimation(atlas, runningTextureRegions, "Run", 1/10f);
-
-        // Create jumping animation
-        jumpingAnimation = createAnimation(atlas, jumpingTextureRegions, "Jump", 1/10f);
-
-        // Create death animation
-        deathAnimation = createAnimation(atlas, deadTextureRegions, "Dead", 1/25f);
-
         isDead = false;
         isJumping = false;
 
@@ -108,6 +82,11 @@ public class Player implements Resettable <Player> {
         return width;
     }
 
+    /** Get the height of the player. */
+    public int getHeight() {
+        return height;
+    }
+
     /** Check if the player is dead. */
     public boolean isDead(){
         return isDead;
@@ -141,6 +120,11 @@ public class Player implements Resettable <Player> {
         return rectangle;
     }
 
+    /** Get time since start of the current animation. */
+    public float getAnimationTime(){
+        return animationTime;
+    }
+
     /**
     * Set new animation time to control animation of player.
     * @param animationTime Value to set animationTime to.
@@ -161,51 +145,20 @@ public class Player implements Resettable <Player> {
         // Reset animation time so that each jump starts at first animation frame
         animationTime = 0;
         isJumping = true;
-        verticalVelocity = 600;
+        verticalVelocity = JUMP_VELOCITY;
     }
 
-    /** Draw run or jump animation depending on player state. */
-    public void drawRunOrJump(){
-        Animation<TextureRegion> runOrJumpAnimation = isJumping ? jumpingAnimation : runningAnimation;
-        TextureRegion runOrJumpFrame;
-
-        // Prepare jumping animation by entering normal animation mode and reset animationTime to 0
-        if (isJumping && runOrJumpAnimation.getPlayMode() != Animation.PlayMode.NORMAL) {
-            runOrJumpAnimation.setPlayMode(Animation.PlayMode.NORMAL);
-            animationTime = 0;
-
-        // Prepare run animation by entering loop animation mode
-        } else if (!isJumping && runOrJumpAnimation.getPlayMode() != Animation.PlayMode.LOOP) {
-            runOrJumpAnimation.setPlayMode(Animation.PlayMode.LOOP);
-        }
-
-        // Draw run or jump animation depending on player state
-        if (isJumping) {
-            runOrJumpFrame = runOrJumpAnimation.getKeyFrame(animationTime, false); // Looping off
-        }else {
-            runOrJumpFrame = runOrJumpAnimation.getKeyFrame(animationTime, true); // Looping on
-        }
-
-        // Draw the current frame of the running or jumping animation depending on player state
-        spriteBatch.draw(runOrJumpFrame, xPosition - width / 2f, yPosition, width, height);
-    }
-
-    /** Draw death animation of player. */
-    public void drawDeathAnimation(){
-        TextureRegion atlasFrame;
-        atlasFrame = deathAnimation.getKeyFrame(animationTime, false);
-
-        // Draw the current frame
-        spriteBatch.draw(atlasFrame, xPosition - width / 2f, yPosition, width, height);
+    /** Store the current Y-position as the previous position. Call before each simulation step. */
+    public void savePreviousPosition(){
+        previousYPosition = yPosition;
     }
 
-    /** Draw idle animation for the start screen. */
-    public void drawIdleAnimation() {
-        TextureRegion atlasFrame;
-        atlasFrame = idleAnimation.getKeyFrame(animationTime, true); // Looping set to true
-
-        // Draw the current frame
-        spriteBatch.draw(atlasFrame, xPosition - width / 2f, yPosition, width, height);
+    /**
+     * Get the Y-position to render the player at.
+     * @param alpha Interpolation factor (0-1) between the position before and after the latest simulation step.
+     */
+    public float getInterpolatedYPosition(float alpha){
+        return previousYPosition + (yPosition - previousYPosition) * alpha;
     }
 
     /** Update position of rectangle to position of the player. */
@@ -234,17 +187,14 @@ public class Player implements Resettable <Player> {
         this.verticalVelocity += changeBy;
     }
 
-    /** Dispose of player assets. */
-    public void dispose(){
-        atlas.dispose();
-    }
-
     /** Reset all necessary variables in preparation for a new game */
     @Override
     public void reset() {
-        yPosition = 135f; // Reset player Y-position
+        yPosition = initialYPosition; // Reset player Y-position
+        previousYPosition = yPosition;
         verticalVelocity = 0f; // Reset vertical speed of player
         isDead = false; // Set dead flag to false
         isJumping = false; // Set jumping flag to false
+        updateRectanglePosition();
     }
 }
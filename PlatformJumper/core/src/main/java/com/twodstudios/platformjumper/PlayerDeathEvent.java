@@ -0,0 +1,31 @@
+package com.twodstudios.platformjumper;
+
+import jdk.jfr.Event;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event recorded when the run ends. Holds the seed, so the level of the run can be replayed. */
+@Name("platformjumper.PlayerDeath")
+@Label("Player Death")
+@Category({"PlatformJumper", "Gameplay"})
+@Description("The player fell into the lava.")
+public class PlayerDeathEvent extends Event {
+
+    @Label("Score")
+    @Description("Final score of the run.")
+    public int score;
+
+    @Label("Level Seed")
+    @Description("Seed of the level, to replay the run.")
+    public long seed;
+
+    @Label("Player X")
+    @Description("X-position of the player.")
+    public float playerX;
+
+    @Label("Player Y")
+    @Description("Y-position of the player.")
+    public float playerY;
+}
@@ -0,0 +1,112 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import static com.twodstudios.platformjumper.AnimationManager.*;
+
+/** Draws the player animations based on the state of a {@link Player}. */
+public class PlayerRenderer {
+
+    private final Batch spriteBatch;
+    private final Player player;
+
+    // Player Texture Atlas, Texture Regions & Animation Objects
+    private TextureAtlas atlas; // Atlas with all player animation frames
+    private final TextureRegion[] idleTextureRegions = new TextureRegion[10];
+    private final TextureRegion[] runningTextureRegions = new TextureRegion[10];
+    private final TextureRegion[] jumpingTextureRegions = new TextureRegion[10];
+    private final TextureRegion[] deadTextureRegions = new TextureRegion[10];
+    private Animation<TextureRegion> idleAnimation;
+    private Animation<TextureRegion> runningAnimation;
+    private Animation<TextureRegion> jumpingAnimation;
+    private Animation<TextureRegion> deathAnimation;
+
+    /**
+     * Create a new instance of PlayerRenderer.
+     * @param spriteBatch Spritebatch that handles drawing in the game.
+     * @param player Player to be drawn.
+     * @param assets Asset service with the game assets loaded.
+     */
+    public PlayerRenderer(Batch spriteBatch, Player player, Assets assets) {
+        this.spriteBatch = spriteBatch;
+        this.player = player;
+        setupPlayerRenderer(assets);
+    }
+
+    /**
+     * Method to initialise and populate necessary fields for the PlayerRenderer.
+     */
+    private void setupPlayerRenderer(Assets assets){
+
+        atlas = assets.getAtlas(Assets.GAMEPLAY_ATLAS); // Get all player assets
+
+        // Create idle animation
+        idleAnimation = createAnimation(atlas, idleTextureRegions, "Idle", 1/10f);
+
+        // Create running animation
+        runningAnimation = createAnimation(atlas, runningTextureRegions, "Run", 1/10f);
+
+        // Create jumping animation
+        jumpingAnimation = createAnimation(atlas, jumpingTextureRegions, "Jump", 1/10f);
+
+        // Create death animation
+        deathAnimation = createAnimation(atlas, deadTextureRegions, "Dead", 1/25f);
+    }
+
+    /**
+     * Draw run or jump animation depending on player state.
+     * @param alpha Interpolation factor (0-1) between the position before and after the latest simulation step.
+     */
+    public void drawRunOrJump(float alpha){
+        boolean isJumping = player.isJumping();
+        Animation<TextureRegion> runOrJumpAnimation = isJumping ? jumpingAnimation : runningAnimation;
+        TextureRegion runOrJumpFrame;
+
+        // Prepare jumping animation by entering normal animation mode and reset animationTime to 0
+        if (isJumping && runOrJumpAnimation.getPlayMode() != Animation.PlayMode.NORMAL) {
+            runOrJumpAnimation.setPlayMode(Animation.PlayMode.NORMAL);
+            player.setAnimationTime(0);
+
+        // Prepare run animation by entering loop animation mode
+        } else if (!isJumping && runOrJumpAnimation.getPlayMode() != Animation.PlayMode.LOOP) {
+            runOrJumpAnimation.setPlayMode(Animation.PlayMode.LOOP);
+        }
+
+        // Draw run or jump animation depending on player state
+        if (isJumping) {
+            runOrJumpFrame = runOrJumpAnimation.getKeyFrame(player.getAnimationTime(), false); // Looping off
+        }else {
+            runOrJumpFrame = runOrJumpAnimation.getKeyFrame(player.getAnimationTime(), true); // Looping on
+        }
+
+        // Draw the current frame of the running or jumping animation depending on player state
+        drawFrame(runOrJumpFrame, player.getInterpolatedYPosition(alpha));
+    }
+
+    /** Draw death animation of player. */
+    public void drawDeathAnimation(){
+        TextureRegion atlasFrame;
+        atlasFrame = deathAnimation.getKeyFrame(player.getAnimationTime(), false);
+
+        // Draw the current frame
+        drawFrame(atlasFrame, player.getYPosition());
+    }
+
+    /** Draw idle animation for the start screen. */
+    public void drawIdleAnimation() {
+        TextureRegion atlasFrame;
+        atlasFrame = idleAnimation.getKeyFrame(player.getAnimationTime(), true); // Looping set to true
+
+        // Draw the current frame
+        drawFrame(atlasFrame, player.getYPosition());
+    }
+
+    /** Draw a frame of an animation at the X-position of the player and the given Y-position. */
+    private void drawFrame(TextureRegion frame, float yPosition) {
+        int width = player.getWidth();
+        spriteBatch.draw(frame, player.getXPosition() - width / 2f, yPosition, width, player.getHeight());
+    }
+}
@@ -1,5 +0,0 @@
-package com.twodstudios.platformjumper;
-
-public interface ScoreUpdater {
-    void increaseScore();
-}
@@ -0,0 +1,23 @@
+package com.twodstudios.platformjumper;
+
+import jdk.jfr.Event;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event spanning a screen switch in {@link Main#setScreen(com.badlogic.gdx.Screen)}. */
+@Name("platformjumper.ScreenTransition")
+@Label("Screen Transition")
+@Category({"PlatformJumper", "Screen"})
+@Description("Switching from one screen to another, including hiding the old and showing the new screen.")
+public class ScreenTransitionEvent extends Event {
+
+    @Label("From Screen")
+    @Description("Screen that was shown before, or null at startup.")
+    public String fromScreen;
+
+    @Label("To Screen")
+    @Description("Screen that is shown now.")
+    public String toScreen;
+}
@@ -1,8 +1,7 @@
 package com.twodstudios.platformjumper;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
@@ -12,7 +11,7 @@ import static com.twodstudios.platformjumper.AnimationManager.*;
 /** Class to handle any assets that will be shared among multiple classes. */
 public class SharedAssets implements Resettable <SharedAssets>{
 
-    private final SpriteBatch spriteBatch;
+    private final Batch spriteBatch;
 
     // Main logo variables
     private TextureAtlas logoAtlas;
@@ -24,19 +23,20 @@ public class SharedAssets implements Resettable <SharedAssets>{
     /**
      * Create instance of SharedAssets.
      * @param spriteBatch Spritebatch that handles drawing in the game.
+     * @param assets Asset service with the shared assets loaded.
      */
-    public SharedAssets(SpriteBatch spriteBatch) {
+    public SharedAssets(Batch spriteBatch, Assets assets) {
         this.spriteBatch = spriteBatch;
 
-        setupSharedAssets();
+        setupSharedAssets(assets);
     }
 
     /**
      * Method to initialise and populate necessary fields for the SharedAssets.
      */
-    private void setupSharedAssets(){
-        // Load main logo atlas
-        logoAtlas = new TextureAtlas(Gdx.files.internal("atlas/main_logo.atlas"));
+    private void setupSharedAssets(Assets assets){
+        // Get main logo atlas
+        logoAtlas = assets.getAtlas(Assets.MAIN_LOGO_ATLAS);
 
         // Create main logo animation
         logoAnimation = createAnimation(logoAtlas, logoTextureRegions, "main_logo", 1/30f);
@@ -85,9 +85,4 @@ public class SharedAssets implements Resettable <SharedAssets>{
         isLogoAnimationFinished = false;
         this.logoAnimationTime = 0;
     }
-
-    /** Dispose of shared assets. */
-    public void dispose(){
-        logoAtlas.dispose();
-    }
 }
@@ -0,0 +1,60 @@
+package com.twodstudios.platformjumper;
+
+/**
+ * Runs the simulation part of a frame: as many fixed steps of the {@link GameWorld} as fit in the time of the frame,
+ * each with the jumps that were pressed up to the time the step ends. Jumps pressed later wait in the
+ * {@link KeyEventQueue} for a later step, so a jump is applied in the first step that ends after it was pressed,
+ * however many steps run per frame.
+ */
+public class SimulationLoop {
+
+    private final GameWorld world;
+    private final FixedTimestep fixedTimestep;
+    private final KeyEventQueue keyEventQueue;
+    private long stepEndTime; // Time the running or last step ends, in nanoseconds
+
+    /**
+     * Create a new SimulationLoop.
+     * @param world World to step.
+     * @param fixedTimestep Timestep that decides the amount of steps per frame.
+     * @param keyEventQueue Jump presses with their time. Only jumps may be queued.
+     */
+    public SimulationLoop(GameWorld world, FixedTimestep fixedTimestep, KeyEventQueue keyEventQueue) {
+        this.world = world;
+        this.fixedTimestep = fixedTimestep;
+        this.keyEventQueue = keyEventQueue;
+    }
+
+    /**
+     * Run the simulation steps of one frame. Steps are skipped once the player has died.
+     * @param deltaTime Time since the last frame in seconds.
+     * @param frameTime Time of the end of the frame in nanoseconds, from the clock the key presses were timed with.
+     * @return Amount of steps that fit in the frame.
+     */
+    public int advance(float deltaTime, long frameTime) {
+        int steps = fixedTimestep.advance(deltaTime);
+        for (int i = 0; i < steps && !world.getPlayer().isDead(); i++) {
+            // Each step takes the jumps pressed up to the time it ends, later jumps wait for later steps
+            stepEndTime = frameTime - (long) (fixedTimestep.getTimeAfterStep(i, steps) * 1e9);
+            world.step(fixedTimestep.getStepTime(), pollJump(stepEndTime));
+        }
+        return steps;
+    }
+
+    /**
+     * Check if the jump key was pressed up to a time, and remove those presses from the queue.
+     * @param time Time in nanoseconds.
+     */
+    private boolean pollJump(long time) {
+        boolean jump = false;
+        while (keyEventQueue.poll(time) != KeyEventQueue.NONE) {
+            jump = true; // Only jumps are queued
+        }
+        return jump;
+    }
+
+    /** Get the time the running or last step ends, in nanoseconds. */
+    public long getStepEndTime() {
+        return stepEndTime;
+    }
+}
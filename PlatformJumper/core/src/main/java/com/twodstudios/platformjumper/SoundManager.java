@@ -1,6 +1,5 @@
 package com.twodstudios.platformjumper;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 
@@ -14,8 +13,14 @@ public class SoundManager implements Resettable <SoundManager> {
     private Music backgroundMusic; // Background Music
     private Music menuMusic; // Menu Music
     private Sound coinPickupSound; // Coin pickup sound
-    /** Create instance of SoundManager. */
-    public SoundManager() {
+    private final Assets assets;
+
+    /**
+     * Create instance of SoundManager.
+     * @param assets Asset service with the shared assets loaded.
+     */
+    public SoundManager(Assets assets) {
+        this.assets = assets;
         setupSoundManager();
     }
 
@@ -24,10 +29,10 @@ public class SoundManager implements Resettable <SoundManager> {
      */
     private void setupSoundManager(){
         // Loading gameover sound && Background/Menu music
-        gameOverSound = Gdx.audio.newSound(Gdx.files.internal("sounds/gameOver.wav"));
-        backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("sounds/backgroundMusic.ogg"));
-        menuMusic = Gdx.audio.newMusic(Gdx.files.internal("sounds/menuMusic.ogg"));
-        coinPickupSound = Gdx.audio.newSound(Gdx.files.internal("sounds/coinPickup.wav"));
+        gameOverSound = assets.getSound(Assets.GAME_OVER_SOUND);
+        backgroundMusic = assets.getMusic(Assets.BACKGROUND_MUSIC);
+        menuMusic = assets.getMusic(Assets.MENU_MUSIC);
+        coinPickupSound = assets.getSound(Assets.COIN_PICKUP_SOUND);
     }
 
     /** Plays game over sound when player dies. */
@@ -72,15 +77,6 @@ public class SoundManager implements Resettable <SoundManager> {
     public void coinPickupSound(){
         coinPickupSound.play(0.2f);
     }
-    /** Dispose of SoundManager assets. */
-    public void dispose(){
-        gameOverSound.dispose();
-        backgroundMusic.dispose();
-        menuMusic.dispose();
-        coinPickupSound.dispose();
-    }
-
-
     @Override
     public void reset() {
         isGameOverSoundPlayed = false;
@@ -0,0 +1,50 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Draws the tiles managed by a {@link Tiles} object. Tiles outside the view, such as the tiles buffered to the right
+ * of the screen, are skipped.
+ */
+public class TileRenderer {
+
+    private final Batch spriteBatch;
+    private final Tiles tiles;
+    private final ViewCuller viewCuller;
+    private final TextureRegion textureRegion;
+
+    /**
+     * Create a new instance of TileRenderer.
+     * @param spriteBatch Spritebatch that handles drawing in the game.
+     * @param tiles Tiles to be drawn.
+     * @param viewCuller View to skip the tiles outside of.
+     * @param assets Asset service with the game assets loaded.
+     */
+    public TileRenderer(Batch spriteBatch, Tiles tiles, ViewCuller viewCuller, Assets assets) {
+        this.spriteBatch = spriteBatch;
+        this.tiles = tiles;
+        this.viewCuller = viewCuller;
+        TextureAtlas atlas = assets.getAtlas(Assets.GAMEPLAY_ATLAS);
+        this.textureRegion = atlas.findRegion("tile_01");
+    }
+
+    /**
+     * Draw all current tiles that are in view.
+     * @param alpha Interpolation factor (0-1) between the position before and after the latest simulation step.
+     */
+    public void drawTiles(float alpha){
+        float interpolationOffset = tiles.getStepDistance() * (1 - alpha); // All tiles move equally, so one offset fits all
+        int tileWidth = tiles.getTileWidth();
+        int tileHeight = tiles.getTileHeight();
+
+        for (int i = 0; i < tiles.getTileCount(); i++) {
+            float x = tiles.getXPosition(i) + interpolationOffset;
+            float y = tiles.getYPosition(i);
+            if (viewCuller.isVisible(x, y, tileWidth, tileHeight)) {
+                spriteBatch.draw(textureRegion, x, y, tileWidth, tileHeight);
+            }
+        }
+    }
+}
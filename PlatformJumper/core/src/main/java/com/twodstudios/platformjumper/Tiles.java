@@ -1,42 +1,20 @@
 package com.twodstudios.platformjumper;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.utils.Array;
-
-import static com.badlogic.gdx.math.MathUtils.random;
-import static java.lang.Math.abs;
-
-/** Class to create and manage Tile objects. */
+/** Class to create and manage Tile objects. Drawing is handled by {@link TileRenderer}. */
 public class Tiles implements Resettable <Tiles> {
 
-    private final SpriteBatch spriteBatch;
     private final float backgroundSpeed;
-    private TextureAtlas atlas;
-    private TextureRegion textureRegion = new TextureRegion();
-    private Array<Float> xPositions;
-    private Array<Float> yPositions;
-    private Rectangle rectangle;
+    private FloatRingBuffer xPositions;
+    private FloatRingBuffer yPositions;
     private int tileWidth;
     private int tileHeight;
-
-    private final float minTileDistance = 300; // Minimum horizontal distance between each tile
-    private final float maxTileDistance = 600; // Maximum horizontal distance between each tile
-    private final float minVerticalDistance = 130; // Minimum vertical distance (height difference) between each tile
-    private final float maxVerticalDistance = 170; // Maximum vertical distance (height difference) between each tile
-    private float maxHeight; // Maximum Y-coordinate for any tile
-    private final float minHeight = 64;
+    private float stepDistance; // Distance all tiles moved during the latest simulation step
 
     /**
      * Create a new instance of Tiles to create and manage tiles.
-     * @param spriteBatch Spritebatch that handles drawing in the game.
      * @param backgroundSpeed Speed of moving background so that tiles can match the movement.
      */
-    public Tiles(SpriteBatch spriteBatch, float backgroundSpeed) {
-        this.spriteBatch = spriteBatch;
+    public Tiles(float backgroundSpeed) {
         this.backgroundSpeed = backgroundSpeed;
         setupTiles();
         prepareInitialTiles();// Preparing the first 15 tiles to be rendered
@@ -48,107 +26,71 @@ public class Tiles implements Resettable <Tiles> {
     private void setupTiles(){
         this.tileWidth = 230;
         this.tileHeight = 40;
-        xPositions = new Array<>(); // Array to hold X-positions of all tiles to be drawn
-        yPositions = new Array<>(); // Array to hold Y-positions of all tiles to be drawn
-        atlas = new TextureAtlas(Gdx.files.internal("atlas/lava_theme.atlas"));
-        textureRegion = atlas.findRegion("tile_01");
-
-        // Set maximum height placement of tiles
-        maxHeight = Main.WORLD_HEIGHT - 300; // 300 pixels from the top of the screen
-
-        // Collision rectangle representing each tile (for collision checks)
-        rectangle = new Rectangle(0, 100, tileWidth, tileHeight);
+        // Room for the tiles on screen plus a full level chunk, so that the buffers never have to grow during a run
+        xPositions = new FloatRingBuffer(64); // Ring buffer to hold X-positions of all tiles to be drawn
+        yPositions = new FloatRingBuffer(64); // Ring buffer to hold Y-positions of all tiles to be drawn
     }
 
     /** Prepares the initial tiles for rendering. */
     public void prepareInitialTiles() {
         float initialTileX = 0; // Sets the initial x-position of the left-most tile
         for (int i = 0; i < 15; i++) { // for-loop to generate the X- and Y-positions of the first 15 tiles
-            xPositions.add(initialTileX); // Adds the X-position to the tileXPositions array
-            yPositions.add(100f); // Adds the Y-position to the tileXPositions array
+            addTile(initialTileX, 100f); // Adds the X- and Y-position to the position buffers
             initialTileX += 100; // Sets the X-position of the next tile in the loop
         }
     }
 
-    /** Prepares a buffer of tiles for rendering and removes tiles that have moved off-screen. */
-    public void generateBufferTiles() {
-        float screenRightEdge = Main.WORLD_WIDTH; // Gets the X-position of the right edge of the screen
-        float lastTileXPosition = xPositions.peek(); // Gets the X-position of latest tile
-        float lastTileYPosition = yPositions.peek(); // Gets the Y-position of latest tile
-
-        // Loop that prepares a buffer of tiles to be rendered up to 500 pixels beyond the edge of the screen
-        while (lastTileXPosition < screenRightEdge + 500) {
-
-            // Calculate random new X-position by adding a minimum distance with a random offset within the specified range
-            float randomDistance = minTileDistance + random.nextFloat() * (maxTileDistance - minTileDistance);
-
-            // Set new X-position
-            float newXPosition = lastTileXPosition + randomDistance;
-
-            // Set new Y-position within allowed vertical limits
-            float newYPosition = getNewTileHeight(minHeight, maxHeight, lastTileYPosition);
-
-            // Add latest tile X- and Y-coordinates to their respective array
-            xPositions.add(newXPosition);
-            yPositions.add(newYPosition);
-
-            // Update lastTileX to store the X-position of the recently added tile
-            lastTileXPosition = newXPosition;
-        }
-
-        // Remove a tile from the arrays if it has moved beyond the left edge of the screen
-        while (xPositions.first() + tileWidth < 0 && !xPositions.isEmpty()) {
-            xPositions.removeIndex(0);
-            yPositions.removeIndex(0);
-        }
+    /**
+     * Add a tile to the right of all current tiles.
+     * @param xPosition X-position of the tile. Must not be smaller than the X-position of the latest tile.
+     * @param yPosition Y-position of the tile.
+     */
+    public void addTile(float xPosition, float yPosition) {
+        xPositions.add(xPosition);
+        yPositions.add(yPosition);
     }
 
-    /** Generates a new Y-position that is within the given vertical limits for a tile.
-    * @param minTileHeight Minimum possible height of generated tile
-    * @param maxTileHeight Maximum possible height of generated tile
-    * @param lastTileYPosition Y-position of the latest generated tile
-    */
-    private float getNewTileHeight(float minTileHeight, float maxTileHeight, float lastTileYPosition) {
-
-        float randomHeight;
-        float verticalDistance;
-        float heightRange = maxTileHeight - minTileHeight; // Total height range
-
-        do {
-            // Generate a random float between minTileHeight and heightRange
-            randomHeight = minTileHeight + random.nextFloat() * heightRange;
-
-            // Calculate the absolute vertical distance between the randomHeight and the last tile positions
-            verticalDistance = abs(randomHeight - lastTileYPosition);
+    /** Removes tiles that have moved off-screen. New tiles are added by {@link LevelStream}. */
+    public void removeOffscreenTiles() {
+        // Remove a tile from the buffers if it has moved beyond the left edge of the screen
+        while (!xPositions.isEmpty() && xPositions.first() + tileWidth < 0) {
+            xPositions.removeFirst();
+            yPositions.removeFirst();
         }
-        // Loop until the vertical distance is within the specified range
-        while (verticalDistance < minVerticalDistance || verticalDistance > maxVerticalDistance);
-        return randomHeight;
     }
 
     /** Updates X-positions of all tiles, including buffer tiles */
     public void moveTiles(float deltaTime) {
-        // for-loop that iterates through the x-position of all active and buffer tiles
-        for (int i = 0; i < xPositions.size; i++){
-            float updatedXPosition = xPositions.get(i) - backgroundSpeed * deltaTime;
-            xPositions.set(i, updatedXPosition);
-        }
-    }
+        stepDistance = backgroundSpeed * deltaTime;
 
-    /** Draw all current tiles. */
-    public void drawTiles(){
-        for (int i = 0; i < xPositions.size; i++) {
-            spriteBatch.draw(textureRegion, xPositions.get(i), yPositions.get(i), tileWidth, tileHeight);
-        }
+        // Shift the x-position of all active and buffer tiles in place
+        xPositions.addToAll(-stepDistance);
     }
 
-    /** Update position of Rectangle to the current position of the given tile. */
-    public void updateRectanglePosition(int tileNumber){
-        // Set position of rectangle representing the tile
-        rectangle.setPosition(getXPosition(tileNumber), getYPosition(tileNumber));
+    /** Get the distance all tiles moved during the latest simulation step. Can be used for render interpolation. */
+    public float getStepDistance() {
+        return stepDistance;
     }
 
-
+    /**
+     * Find the first tile whose right edge is beyond the given X-position. Tiles are always sorted by
+     * X-position, so a binary search can be used to skip all tiles that are fully to the left of it.
+     * @param xPosition X-position to search from.
+     * @return Index of the first such tile, or the tile count if there is none.
+     */
+    public int findFirstTileEndingAfter(float xPosition) {
+        int low = 0;
+        int high = xPositions.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (xPositions.get(middle) + tileWidth > xPosition) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
 
     /** Get X-position of one specific active tile. */
     public float getXPosition(int tileNumber) {
@@ -160,19 +102,24 @@ public class Tiles implements Resettable <Tiles> {
         return yPositions.get(tileNumber);
     }
 
-    /** Get X-positions of all currently active tiles. */
-    public Array<Float> getXPositions() {
-        return xPositions;
+    /** Get amount of currently active tiles, including buffer tiles. */
+    public int getTileCount() {
+        return xPositions.size();
     }
 
-    /** Get Y-positions of all currently active tiles. */
-    public Array<Float> getYPositions() {
-        return yPositions;
+    /** Get X-position of the latest generated tile. */
+    public float getLastXPosition() {
+        return xPositions.peek();
     }
 
-    /** Get tile Rectangle. Can be used for collision logic. */
-    public Rectangle getRectangle() {
-        return rectangle;
+    /** Get Y-position of the latest generated tile. */
+    public float getLastYPosition() {
+        return yPositions.peek();
+    }
+
+    /** Get the speed all tiles move towards the left with, in world units per second. */
+    public float getSpeed() {
+        return backgroundSpeed;
     }
 
     /** Get tile width. */
@@ -198,10 +145,7 @@ public class Tiles implements Resettable <Tiles> {
     public void reset(){
         xPositions.clear(); // Clear X-position of tiles
         yPositions.clear(); // Clear Y-position of tiles
+        stepDistance = 0;
         prepareInitialTiles(); // Create the starting tiles
     }
-
-    public void dispose(){
-        atlas.dispose();
-    }
 }
@@ -0,0 +1,90 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+
+/**
+ * Culls world drawables against the view of an {@link OrthographicCamera}, zoom included. Renderers check each
+ * sprite with {@link #isVisible} before drawing it and skip the sprites that are fully outside the view. Every check
+ * is counted as drawn or culled, so the draws saved per frame can be seen in the frame profiler.
+ * <p>
+ * Until a view is set, everything is in view.
+ */
+public class ViewCuller {
+
+    // Edges of the view in world units
+    private float left = -Float.MAX_VALUE;
+    private float right = Float.MAX_VALUE;
+    private float bottom = -Float.MAX_VALUE;
+    private float top = Float.MAX_VALUE;
+
+    // Checks since the counters were reset
+    private int drawnCount;
+    private int culledCount;
+
+    /**
+     * Take the view of a camera. Call after {@code camera.update()}, with the camera in the same state as when its
+     * matrix was given to the sprite batch, so that the view matches what is drawn.
+     */
+    public void setView(OrthographicCamera camera) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+        left = camera.position.x - halfWidth;
+        right = camera.position.x + halfWidth;
+        bottom = camera.position.y - halfHeight;
+        top = camera.position.y + halfHeight;
+    }
+
+    /**
+     * Check if a rectangle is at least partly in view, and count it as drawn or culled. Rectangles that only touch
+     * an edge of the view count as in view.
+     * @param x X-position of the left edge in world units.
+     * @param y Y-position of the bottom edge in world units.
+     * @param width Width in world units.
+     * @param height Height in world units.
+     * @return False if the rectangle is fully outside the view and should not be drawn.
+     */
+    public boolean isVisible(float x, float y, float width, float height) {
+        if (x + width >= left && x <= right && y + height >= bottom && y <= top) {
+            drawnCount++;
+            return true;
+        }
+        culledCount++;
+        return false;
+    }
+
+    /** Get the X-position of the left edge of the view. */
+    public float getLeft() {
+        return left;
+    }
+
+    /** Get the X-position of the right edge of the view. */
+    public float getRight() {
+        return right;
+    }
+
+    /** Get the Y-position of the bottom edge of the view. */
+    public float getBottom() {
+        return bottom;
+    }
+
+    /** Get the Y-position of the top edge of the view. */
+    public float getTop() {
+        return top;
+    }
+
+    /** Get the amount of checks that were in view since the counters were reset. */
+    public int getDrawnCount() {
+        return drawnCount;
+    }
+
+    /** Get the amount of checks that were fully outside the view since the counters were reset. */
+    public int getCulledCount() {
+        return culledCount;
+    }
+
+    /** Reset the drawn and culled counters, typically at the start of each frame. */
+    public void resetCounters() {
+        drawnCount = 0;
+        culledCount = 0;
+    }
+}
@@ -8,77 +8,62 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.twodstudios.platformjumper.*;
 
-public class HighscoreScreen implements Screen {
+public class HighscoreScreen implements Screen, LeaderboardListener {
 
     private final Main game;
     private final StartMenuScreen startMenuScreen;
     private final EffectsManager effectsManager;
-    private final ScoreManager scoreManager;
+    private final LeaderboardService leaderboardService;
 
-    // Stage, table and ViewPort
+    // Stage, table, camera and ViewPort. The stage is kept, its actors are created again each time the screen is
+    // shown because the high score assets are unloaded when it is hidden
     private final Stage stage;
-    private final Table table;
-    private final Skin skin;
+    private Table table;
+    private Skin skin;
+    private final OrthographicCamera camera;
     private final Viewport viewport;
 
     // Background variables
-    private final Texture backgroundImage;
+    private Texture backgroundImage;
     private float bg1XPosition;
     private float bg2XPosition;
     private final float backgroundSpeed = 15f;
     private final float backgroundWidth = Main.WORLD_WIDTH;
     private Image uiBackground;
 
-    private Array<String> highscoreNames;
-    private Array<Integer> highscorePoints;
+    // High score rows, kept up to date while the screen is shown
+    private final Label[] nameLabels = new Label[LeaderboardService.ROW_COUNT];
+    private final Label[] scoreLabels = new Label[LeaderboardService.ROW_COUNT];
 
     public HighscoreScreen(Main game, StartMenuScreen startMenuScreen, EffectsManager effectsManager) {
         this.game = game;
         this.startMenuScreen = startMenuScreen;
         this.effectsManager = effectsManager;
 
-        this.scoreManager = new ScoreManager();
-
-        // Get current high scores
-        highscoreNames = scoreManager.getNames(10);
-        highscorePoints = scoreManager.getScores(10);
-
-        // Skin for the high score menu
-        this.skin = new Skin(Gdx.files.internal("skins/high_score_skin.json"));
+        this.leaderboardService = game.leaderboardService;
 
         // Camera and ViewPort
-        OrthographicCamera camera = new OrthographicCamera();
+        this.camera = new OrthographicCamera();
         this.viewport = new FitViewport(Main.WORLD_WIDTH, Main.WORLD_HEIGHT, camera);
         camera.setToOrtho(false, Main.WORLD_WIDTH, Main.WORLD_HEIGHT);
 
         // Background
-        this.backgroundImage = new Texture("menu_background.png");
         this.bg1XPosition = 0;
         this.bg2XPosition = backgroundWidth;
 
-        // Stage and table
-        this.stage = new Stage(viewport);
-        this.table = new Table();
-        table.setFillParent(true);
-        table.top().padTop(10);
-
-        // Create high score table and menu buttons
-        createUIBackground(600, 510);
-        createHighscoreMenu();
-        createBackButton();
-
-        // Add table to stage
-        stage.addActor(table);
+        // Stage, drawn with the shared sprite batch
+        this.stage = new Stage(viewport, game.spriteBatch);
     }
 
     @Override
     public void render(float delta) {
+        camera.update();
+        game.spriteBatch.setProjectionMatrix(camera.combined); // Link spriteBatch to camera
         ScreenUtils.clear(0, 0, 0, 1);
         game.spriteBatch.begin();
 
@@ -92,7 +77,7 @@ public class HighscoreScreen implements Screen {
 
         // Draw high score table and menu buttons
         stage.act(delta);
-        stage.draw();
+        Main.drawStage(stage);
     }
 
     @Override
@@ -102,11 +87,34 @@ public class HighscoreScreen implements Screen {
 
     @Override
     public void show() {
+
+        // Skin for the high score menu and background, loaded again since the screen was last shown
+        skin = game.assets.getSkin(Assets.HIGH_SCORE_SKIN);
+        backgroundImage = game.assets.getTexture(Assets.MENU_BACKGROUND);
+
+        // Table
+        table = new Table();
+        table.setFillParent(true);
+        table.top().padTop(10);
+
+        // Create high score table and menu buttons
+        createUIBackground(600, 510);
+        createHighscoreMenu();
+        createBackButton();
+
+        // Add table to stage
+        stage.addActor(table);
+
         Gdx.input.setInputProcessor(stage);
+        leaderboardService.addListener(this);
+        leaderboardChanged(0); // Fill in the current scores
     }
 
     @Override
     public void hide() {
+        leaderboardService.removeListener(this);
+        stage.clear(); // Remove the actors using the high score assets, they are created again in show
+        game.assets.unload(Assets.Group.HIGHSCORE);
     }
 
     @Override
@@ -117,9 +125,7 @@ public class HighscoreScreen implements Screen {
 
     @Override
     public void dispose() {
-        backgroundImage.dispose();
-        stage.dispose();
-        effectsManager.dispose();
+        stage.dispose(); // The effects manager belongs to the start menu, which disposes it
     }
 
     //** Draw a moving background. */
@@ -150,8 +156,8 @@ public class HighscoreScreen implements Screen {
      * */
     private void createUIBackground(int width, int height) {
 
-        // Load the UI background image
-        Texture uiBackgroundTexture = new Texture(Gdx.files.internal("ui_background.png"));
+        // Get the UI background image
+        Texture uiBackgroundTexture = game.assets.getTexture(Assets.UI_BACKGROUND);
 
         // Create an Image object from the texture (so it can be added to a Stage)
         uiBackground = new Image(uiBackgroundTexture);
@@ -180,29 +186,32 @@ public class HighscoreScreen implements Screen {
         table.add(scoreHeader).padLeft(50).right();
         table.row();
 
-        // Add the high scores
-        for (int i = 0; i < 10; i++) {
-            String nameText;
-            String scoreText;
-
-            // Get name and highscore
-            nameText = (i + 1) + ": " + highscoreNames.get(i); // Add rank before the name
-            scoreText = highscorePoints.get(i).toString();
+        // Add the high scores, filled in by leaderboardChanged()
+        for (int i = 0; i < LeaderboardService.ROW_COUNT; i++) {
 
             // Labels for name and score
-            Label nameLabel = new Label(nameText, skin, "medium");
-            Label scoreLabel = new Label(scoreText, skin, "medium");
+            nameLabels[i] = new Label("", skin, "medium");
+            scoreLabels[i] = new Label("", skin, "medium");
 
             // Add labels to the table
-            table.add(nameLabel).padRight(50).left();
-            table.add(scoreLabel).padLeft(50).right();
+            table.add(nameLabels[i]).padRight(50).left();
+            table.add(scoreLabels[i]).padLeft(50).right();
             table.row();
         }
     }
 
+    /** Update the high score rows that changed. The cached rows of the leaderboard are used, so nothing is read or parsed. */
+    @Override
+    public void leaderboardChanged(int firstChangedRow) {
+        for (int i = firstChangedRow; i < LeaderboardService.ROW_COUNT; i++) {
+            nameLabels[i].setText((i + 1) + ": " + leaderboardService.getRowName(i)); // Add rank before the name
+            scoreLabels[i].setText(leaderboardService.getRowScore(i));
+        }
+    }
+
     //** Create a back button. */
     private void createBackButton() {
-        Skin buttonSkin = new Skin(Gdx.files.internal("atlas/main_menu.json")); // Ange rätt sökväg
+        Skin buttonSkin = game.assets.getSkin(Assets.MAIN_MENU_SKIN);
 
         // Create Back button
         ImageButton backButton = new ImageButton(buttonSkin, "back_button");
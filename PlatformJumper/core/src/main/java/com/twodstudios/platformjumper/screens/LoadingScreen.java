@@ -0,0 +1,100 @@
+package com.twodstudios.platformjumper.screens;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.twodstudios.platformjumper.Assets;
+import com.twodstudios.platformjumper.Main;
+
+/**
+ * Loads asset groups asynchronously while drawing a progress bar, then switches to the next screen.
+ * The progress bar is drawn with shapes only, so the loading screen itself does not need any assets. The shapes are
+ * drawn with the shape renderer of the game, since a loading screen is created each time a screen is loaded.
+ */
+public class LoadingScreen implements Screen {
+
+    /** Creates the screen to show once its assets are loaded. */
+    public interface ScreenFactory {
+        Screen createScreen();
+    }
+
+    private final Main game;
+    private final Assets.Group[] groups;
+    private final ScreenFactory screenFactory;
+    private final OrthographicCamera camera;
+    private final Viewport viewport;
+    private final ShapeRenderer shapeRenderer;
+
+    // Progress bar size
+    private final float barWidth = 500;
+    private final float barHeight = 20;
+
+    /**
+     * Create a new LoadingScreen.
+     * @param game Main game.
+     * @param screenFactory Creates the next screen when all groups are loaded.
+     * @param groups Asset groups to load.
+     */
+    public LoadingScreen(Main game, ScreenFactory screenFactory, Assets.Group... groups) {
+        this.game = game;
+        this.screenFactory = screenFactory;
+        this.groups = groups;
+        this.shapeRenderer = game.shapeRenderer;
+
+        // Camera and ViewPort
+        this.camera = new OrthographicCamera();
+        this.viewport = new FitViewport(Main.WORLD_WIDTH, Main.WORLD_HEIGHT, camera);
+        this.camera.setToOrtho(false, Main.WORLD_WIDTH, Main.WORLD_HEIGHT);
+    }
+
+    @Override
+    public void show() {
+        for (Assets.Group group : groups) {
+            game.assets.load(group);
+        }
+    }
+
+    @Override
+    public void render(float delta) {
+        // Switch to the next screen as soon as everything is loaded
+        if (game.assets.update()) {
+            game.setScreen(screenFactory.createScreen());
+            return;
+        }
+
+        camera.update();
+        ScreenUtils.clear(0.0f, 0.0f, 0.0f, 1f); // Clear screen with black color
+
+        // Draw progress bar in the middle of the screen
+        float barX = (Main.WORLD_WIDTH - barWidth) / 2;
+        float barY = (Main.WORLD_HEIGHT - barHeight) / 2;
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(0.2f, 0.2f, 0.2f, 1f);
+        shapeRenderer.rect(barX, barY, barWidth, barHeight);
+        shapeRenderer.setColor(1f, 0.45f, 0.1f, 1f);
+        shapeRenderer.rect(barX, barY, barWidth * game.assets.getProgress(), barHeight);
+        shapeRenderer.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void hide() {}
+
+    /** Nothing to dispose, the shape renderer belongs to the game. */
+    @Override
+    public void dispose() {}
+}
@@ -2,34 +2,42 @@ package com.twodstudios.platformjumper.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.ScalingViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.github.tommyettinger.textra.Font;
 import com.twodstudios.platformjumper.*;
 import com.github.tommyettinger.textra.TypingLabel;
 
+import java.io.File;
 
 
-public class PlayScreen implements Screen, HudListener, GameOverListener {
+
+public class PlayScreen implements Screen, HudListener, GameOverListener, GameEventListener {
 
     private final Main game;
     private StartMenuScreen startMenuScreen;
 
     public SpriteBatch spriteBatch;
+    private GameWorld world;
     private Player player;
-    private Tiles tiles;
+    private PlayerRenderer playerRenderer;
+    private TileRenderer tileRenderer;
+    private CoinRenderer coinRenderer;
     private Hud hud;
-    private CoinManager coinManager;
     private SoundManager soundManager;
-    private ScoreManager scoreManager;
-    private PhysicsManager physicsManager;
     private final SharedAssets sharedAssets;
     private EffectsManager effectsManager;
     private GameOverHud gameOverHud;
@@ -45,6 +53,7 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
     // Camera and Viewport
     private OrthographicCamera camera;
     private Viewport viewport;
+    private final ViewCuller viewCuller = new ViewCuller(); // View of the camera, world drawables outside it are skipped
 
     // Start Mode variables (for smooth zoom out camera movement)
     private boolean startMode = true; // Flag to initiate the start screen
@@ -52,14 +61,43 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
     private final float newZoomLevel = 1f; // Game Mode zoom level
     private final float zoomSpeed = 0.05f; // Camera zoom speed
 
+    // Fixed timestep variables (simulation runs at a fixed tick rate independently of the frame rate)
+    private final float simulationTickRate = 60f; // Simulation steps per second
+    private final int maxStepsPerFrame = 5; // Maximum simulation steps per frame
+    private FixedTimestep fixedTimestep;
+    private SimulationLoop simulationLoop; // Steps the world with the jumps of each step
+
+    // Input, one multiplexer whose processors are changed when the state of the game changes
+    private enum InputState { START, RUNNING, PAUSED, GAME_OVER }
+    private InputMultiplexer inputMultiplexer;
+    private InputState inputState; // State the multiplexer is set up for
+    private final KeyEventQueue keyEventQueue = new KeyEventQueue(16); // Jump presses waiting for their simulation step
+    private final InputAdapter jumpInput = new InputAdapter() {
+        @Override
+        public boolean keyDown(int keycode) {
+            if (keycode == Input.Keys.SPACE) {
+                keyEventQueue.offer(keycode, Gdx.input.getCurrentEventTime()); // Time the key was pressed, in nanoseconds
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Frame profiling (F3 toggles the overlay, F4 starts and stops writing frames to a CSV file)
+    private FrameProfiler frameProfiler;
+    private FrameProfilerOverlay profilerOverlay;
+    private FrameProfileCsvWriter profileCsvWriter;
 
-    // Constructor
+    // Constructor. The screen is kept and shown again for every game, so only objects that do not depend on the
+    // play assets are created here. Everything else is created in show and released in hide
     public PlayScreen(Main game, StartMenuScreen startMenuScreen){
         this.game = game;
         this.startMenuScreen = startMenuScreen;
         this.spriteBatch = game.spriteBatch;
         this.sharedAssets = game.sharedAssets;
-        this.hud = new Hud(this);
+        this.fixedTimestep = new FixedTimestep(simulationTickRate, maxStepsPerFrame);
+        this.frameProfiler = new FrameProfiler(1024);
+        this.profilerOverlay = new FrameProfilerOverlay(frameProfiler, this.spriteBatch);
     }
 
     // Stage and table
@@ -72,16 +110,22 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
     public void show() {
 
         // Initialise all necessary objects for the game
-        background = new Background( "atlas/lava_theme.atlas", backgroundSpeed, 6, game);
-        tiles = new Tiles(this.spriteBatch, backgroundSpeed);
-        coinManager = new CoinManager(this.spriteBatch, tiles, backgroundSpeed);
-        player = new Player(this.spriteBatch, 120, 150, Main.WORLD_WIDTH / 2, 135f);
-        soundManager = new SoundManager();
-        scoreManager = new ScoreManager();
-        gameOverHud = new GameOverHud(this, scoreManager);
-        physicsManager = new PhysicsManager(player, tiles, soundManager, coinManager.getCoins(), scoreManager);
-        effectsManager = new EffectsManager(this.spriteBatch);
+        background = new Background(Assets.PARALLAX_ATLAS, backgroundSpeed, 6, game);
+        world = new GameWorld(backgroundSpeed);
+        world.setGameEventListener(this);
+        world.startBackgroundGeneration(); // Generate level chunks ahead of time, off the render thread
+        player = world.getPlayer();
+        simulationLoop = new SimulationLoop(world, fixedTimestep, keyEventQueue);
+        playerRenderer = new PlayerRenderer(this.spriteBatch, player, game.assets);
+        tileRenderer = new TileRenderer(this.spriteBatch, world.getTiles(), viewCuller, game.assets);
+        coinRenderer = new CoinRenderer(this.spriteBatch, world.getCoinManager(), viewCuller, game.assets);
+        soundManager = game.soundManager;
+        hud = new Hud(this, this.spriteBatch, game.assets);
+        gameOverHud = new GameOverHud(this, world, game.leaderboardService, this.spriteBatch, game.assets);
+        effectsManager = new EffectsManager(this.spriteBatch, game.assets);
         pauseState = new PauseState(game, startMenuScreen);
+        fixedTimestep.reset();
+        startMode = true; // Every game starts in start mode
 
         // Create "Enter to start" message
         createEnterToStartLabel();
@@ -91,6 +135,16 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
         viewport = new FitViewport(Main.WORLD_WIDTH, Main.WORLD_HEIGHT, camera);
         camera.position.set(Main.WORLD_WIDTH / 2, Main.WORLD_HEIGHT / 2, 0); // Center the camera
         camera.update();
+        viewCuller.setView(camera);
+        background.setViewCuller(viewCuller); // Parts of layers outside the view of the camera are not drawn
+        effectsManager.setViewCuller(viewCuller); // Effects outside the view of the camera are not drawn
+
+        // Input
+        inputMultiplexer = new InputMultiplexer();
+        inputState = null;
+        keyEventQueue.clear();
+        Gdx.input.setInputProcessor(inputMultiplexer);
+        updateInputState();
 
         // Play background music
         soundManager.backgroundMusic();
@@ -98,98 +152,120 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
 
     @Override
     public void render(float deltaTime) {
+        frameProfiler.beginFrame(game.spriteBatch.totalRenderCalls);
+        viewCuller.resetCounters();
+        handleProfilerInput();
 
         // Toggle Pause state with "P"
         if (Gdx.input.isKeyJustPressed(Input.Keys.P) && !player.isDead()) {
             pauseState.togglePause();
-
-            // Set input processor to pause state if paused
-            if (pauseState.isPaused()) {
-                Gdx.input.setInputProcessor(pauseState.getStage());
-            }
         }
+        updateInputState(); // Pause could also have been toggled by the HUD or pause menu buttons
 
         // If game is paused, render pause menu and return
         if (pauseState.isPaused()) {
+            fixedTimestep.reset(); // Do not simulate the time spent in the pause menu
+            frameProfiler.begin(FrameProfiler.Phase.BACKGROUND);
             drawTransparentPauseBackground(deltaTime);
+            frameProfiler.end(FrameProfiler.Phase.BACKGROUND);
+            frameProfiler.begin(FrameProfiler.Phase.HUD);
             pauseState.render();
+            frameProfiler.end(FrameProfiler.Phase.HUD);
+            endFrame();
             return;
         }
 
         // Update animation times
         player.updateAnimationTime(deltaTime);
         sharedAssets.updateMainLogoAnimationTime(deltaTime);
-        coinManager.updateAnimationTime(deltaTime);
+        coinRenderer.updateAnimationTime(deltaTime);
 
         // Exits start mode when Enter is pressed
         if (startMode && Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
             startMode = false;
         }
 
+        // Interpolation factor used to render between the previous and current simulation state
+        float alpha = 1f;
+
         if (!startMode && !player.isDead()) {
 
-            // Set HUD as input processor
-            Gdx.input.setInputProcessor(hud.getStage());
+            // Run as many fixed simulation steps as fit in the time of this frame
+            frameProfiler.begin(FrameProfiler.Phase.SIMULATION);
+            simulationLoop.advance(deltaTime, TimeUtils.nanoTime());
+            frameProfiler.end(FrameProfiler.Phase.SIMULATION);
+            hud.setScore(world.getScore()); // Update score in HUD
 
-            // If space bar is pressed or mouse is clicked and the character is not already in a jumping state, increase velocity
-            if ((Gdx.input.isKeyJustPressed(Input.Keys.SPACE) && !player.isJumping())){
-                player.startJump();
+            if (!player.isDead()) {
+                alpha = fixedTimestep.getAlpha();
             }
-
-            physicsManager.applyGravity(deltaTime); // Enable gravity
-            physicsManager.checkCollision(); // Check for tile and floor collisions
-            hud.setScore(scoreManager.getScore()); // Update score in HUD
-            tiles.generateBufferTiles(); // Prepare a buffer of tiles for rendering
-            coinManager.generateCoins(deltaTime); // Prepare coins for rendering
-            tiles.moveTiles(deltaTime); // Continuously move all tiles towards the left
-            coinManager.moveCoins(deltaTime); // Continuously move all coins towards the left
+        } else {
+            fixedTimestep.reset(); // Simulation is not running, so no time should be accumulated
         }
+        updateInputState(); // The game could have started or the player died
 
         camera.update();
         game.spriteBatch.setProjectionMatrix(camera.combined); // Link spriteBatch to camera
+        viewCuller.setView(camera); // Cull against the same view the batch draws with, before any zoom below
         ScreenUtils.clear(0.0f, 0.0f, 0.0f, 0f); // Clear screen with black color
 
         game.spriteBatch.begin();
         if (startMode) {
             camera.position.set(Main.WORLD_WIDTH / 2, Main.WORLD_HEIGHT / 2, 0); // Center camera
             camera.zoom = initialCameraZoom; // Set zoom to initial zoom level
+            frameProfiler.begin(FrameProfiler.Phase.BACKGROUND);
             background.drawBackgroundSet(false, deltaTime);  // Draw first state of background
             background.drawGround(false, deltaTime);  // Draw first state of dangerous ground
-            tiles.drawTiles(); // Draw initial tiles
+            frameProfiler.end(FrameProfiler.Phase.BACKGROUND);
+            frameProfiler.begin(FrameProfiler.Phase.WORLD);
+            tileRenderer.drawTiles(alpha); // Draw initial tiles
             sharedAssets.drawLogoAnimation(500, 109, 300, false);
-            player.drawIdleAnimation(); // Draw the character idle animation if in start mode
+            playerRenderer.drawIdleAnimation(); // Draw the character idle animation if in start mode
+            frameProfiler.end(FrameProfiler.Phase.WORLD);
+            frameProfiler.begin(FrameProfiler.Phase.EFFECTS);
             effectsManager.drawSparkles(deltaTime); // Draw continous particle sparkles effect
+            frameProfiler.end(FrameProfiler.Phase.EFFECTS);
         } else {
             // Zoom out camera smoothly to the game mode zoom position in slow speed
             smoothZoom(newZoomLevel, zoomSpeed, deltaTime);
 
             // IF CHARACTER IS ALIVE
             if (!player.isDead()) {
+                frameProfiler.begin(FrameProfiler.Phase.BACKGROUND);
                 background.drawBackgroundSet(true, deltaTime);
                 background.drawGround(true, deltaTime);
-                tiles.drawTiles();
-                coinManager.drawCoins();
+                frameProfiler.end(FrameProfiler.Phase.BACKGROUND);
+                frameProfiler.begin(FrameProfiler.Phase.WORLD);
+                tileRenderer.drawTiles(alpha);
+                coinRenderer.drawCoins(alpha);
 
                 if (!sharedAssets.isLogoAnimationFinished()) {
                     sharedAssets.drawLogoAnimation(500, 109, 300, true);
                 }
-                player.drawRunOrJump(); // Draw running or jumping animation depending on character state
+                playerRenderer.drawRunOrJump(alpha); // Draw running or jumping animation depending on character state
+                frameProfiler.end(FrameProfiler.Phase.WORLD);
 
+                frameProfiler.begin(FrameProfiler.Phase.EFFECTS);
                 effectsManager.drawSparkles(deltaTime); // Draw continous particle effect
+                effectsManager.drawEffects(deltaTime);
+                frameProfiler.end(FrameProfiler.Phase.EFFECTS);
 
             // IF CHARACTER IS DEAD
             } else {
                 smoothZoom(newZoomLevel, 0.5f, deltaTime); // Zoom out quickly if player dies super early in the game
+                frameProfiler.begin(FrameProfiler.Phase.BACKGROUND);
                 background.drawBackgroundSet(false, deltaTime);  // Draw last state of background
                 background.drawGround(false, deltaTime);  // Draw last state of ground
-                tiles.drawTiles(); // Draw last state of the tiles
-                coinManager.drawCoins(); // Draw last state of the coins
-                player.drawDeathAnimation();
+                frameProfiler.end(FrameProfiler.Phase.BACKGROUND);
+                frameProfiler.begin(FrameProfiler.Phase.WORLD);
+                tileRenderer.drawTiles(alpha); // Draw last state of the tiles
+                coinRenderer.drawCoins(alpha); // Draw last state of the coins
+                playerRenderer.drawDeathAnimation();
+                frameProfiler.end(FrameProfiler.Phase.WORLD);
 
-                // Draw lava explosion at death spot
-                float deathXPosition = player.getXPosition() - player.getWidth() / 5f;
-                float deathYPosition = background.getGroundHeight() / 2f;
-                effectsManager.drawLavaExplosion(deltaTime, deathXPosition, deathYPosition); // Draw lava explosion effect
+                frameProfiler.begin(FrameProfiler.Phase.EFFECTS);
+                effectsManager.drawEffects(deltaTime); // Draw lava explosion effect
+                frameProfiler.end(FrameProfiler.Phase.EFFECTS);
 
                 // If up-button is pressed, reset the game
                 if (Gdx.input.isKeyJustPressed(Input.Keys.UP)) {
@@ -197,20 +273,104 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
                 }
             }
         }
+        frameProfiler.begin(FrameProfiler.Phase.FLUSH);
         game.spriteBatch.end();
+        frameProfiler.end(FrameProfiler.Phase.FLUSH);
 
+        frameProfiler.begin(FrameProfiler.Phase.HUD);
         if (startMode) {
             // Draw animated "Press enter to start" label
             stage.act();
-            stage.draw();
+            Main.drawStage(stage);
         }else {
             hud.render(deltaTime); // Draw HUD (Coin score tracker and pause button)
         }
+        frameProfiler.end(FrameProfiler.Phase.HUD);
 
         // Draw game over HUD if player dies
         if (player.isDead()){
-            Gdx.input.setInputProcessor(gameOverHud.getStage());
+            frameProfiler.begin(FrameProfiler.Phase.GAME_OVER_HUD);
             gameOverHud.render(deltaTime);
+            frameProfiler.end(FrameProfiler.Phase.GAME_OVER_HUD);
+        }
+
+        endFrame();
+    }
+
+    /**
+     * Set up the input processors for the current state of the game, if the state has changed since the last call.
+     * Start mode is only controlled with polled keys and has no processors.
+     */
+    private void updateInputState() {
+        InputState state;
+        if (pauseState.isPaused()) {
+            state = InputState.PAUSED;
+        } else if (startMode) {
+            state = InputState.START;
+        } else if (player.isDead()) {
+            state = InputState.GAME_OVER;
+        } else {
+            state = InputState.RUNNING;
+        }
+        if (state == inputState) {
+            return;
+        }
+        inputState = state;
+
+        inputMultiplexer.clear();
+        switch (state) {
+            case RUNNING:
+                inputMultiplexer.addProcessor(hud.getStage());
+                inputMultiplexer.addProcessor(jumpInput);
+                break;
+            case PAUSED:
+                inputMultiplexer.addProcessor(pauseState.getStage());
+                break;
+            case GAME_OVER:
+                inputMultiplexer.addProcessor(gameOverHud.getStage());
+                break;
+            default:
+                break;
+        }
+        if (state != InputState.RUNNING) {
+            keyEventQueue.clear(); // Jumps pressed before pausing or dying are not carried over
+        }
+    }
+
+    /** Finish recording the frame and draw the profiler overlay on top of it. */
+    private void endFrame() {
+        frameProfiler.setCullingCounts(viewCuller.getDrawnCount(), viewCuller.getCulledCount());
+        frameProfiler.endFrame(game.spriteBatch.totalRenderCalls);
+        profilerOverlay.render(); // Not part of the recorded frame
+    }
+
+    /** Toggle the profiler overlay with F3, and start or stop writing frames to a CSV file with F4. */
+    private void handleProfilerInput() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            profilerOverlay.toggle();
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) {
+            if (profileCsvWriter == null) {
+                // Written to the external storage (the user's home folder on desktop), since the local folder is the
+                // assets folder when running from Gradle, and everything in it is packaged with the game
+                FileHandle fileHandle = Gdx.files.external("PlatformJumper/frame_profile_" + System.currentTimeMillis() + ".csv");
+                fileHandle.parent().mkdirs();
+                File file = fileHandle.file();
+                profileCsvWriter = new FrameProfileCsvWriter(frameProfiler, file);
+                profileCsvWriter.start();
+                Gdx.app.log("PlayScreen", "Writing frame profile to " + file.getAbsolutePath());
+            } else {
+                stopProfileCsvWriter();
+            }
+        }
+    }
+
+    /** Stop writing frames to the CSV file, if frames are being written. */
+    private void stopProfileCsvWriter() {
+        if (profileCsvWriter != null) {
+            profileCsvWriter.stop();
+            Gdx.app.log("PlayScreen", "Frame profile written, " + profileCsvWriter.getDroppedFrames() + " frames dropped");
+            profileCsvWriter = null;
         }
     }
 
@@ -219,6 +379,7 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
         viewport.update(width, height, true); // Adapt viewport after window size
         hud.resize(width, height); // Adapt HUD after window size
         gameOverHud.resize(width, height); // Adapt game over HUD after window size
+        profilerOverlay.resize(width, height);
         camera.position.set(Main.WORLD_WIDTH / 2, Main.WORLD_HEIGHT / 2, 0);  // Center camera
         camera.update();
     }
@@ -234,16 +395,23 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
     @Override
     public void hide() {
         soundManager.stopBackgroundMusic();
+        world.stopBackgroundGeneration();
+        stopProfileCsvWriter();
+
+        // Release everything created in show, it is created again with the reloaded assets next time
+        hud.dispose();
+        gameOverHud.dispose(); // Also stops listening to the leaderboard
+        pauseState.dispose();
+        stage.dispose();
+        effectsManager.dispose();
+        background.dispose(); // Frame buffers of the background
+        game.assets.unload(Assets.Group.PLAY); // Loaded again when the next game is started
     }
 
+    /** Dispose of the objects kept between games. Everything created in show is released in hide. */
     @Override
     public void dispose() {
-        player.dispose();
-        sharedAssets.dispose();
-        tiles.dispose();
-        soundManager.dispose();
-        effectsManager.dispose();
-        stage.dispose();
+        profilerOverlay.dispose();
     }
 
     /** Adjust the zoom of the camera to a given zoom position.
@@ -283,10 +451,11 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
 
     /** Draw transparent pause menu background. */
     private void drawTransparentPauseBackground(float deltaTime) {
+        game.spriteBatch.setProjectionMatrix(camera.combined); // The pause menu stage left its own matrix on the shared batch
         game.spriteBatch.begin();
         ScreenUtils.clear(0.0f, 0.0f, 0.0f, 0.0f); // Clear screen with black color
         game.spriteBatch.setColor(1f, 1f, 1f, 0.7f); // Set opacity to 70%
-        background.drawBackgroundSet(false, deltaTime); // Draw background with 70% opacity
+        background.drawBackgroundSet(false, deltaTime); // Draw the background snapshot with 70% opacity
         game.spriteBatch.setColor(1f, 1f, 1f, 1f); // Reset opacity to normal
         game.spriteBatch.end();
     }
@@ -294,8 +463,8 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
     /** Create "Press ENTER to start"-label. */
     private void createEnterToStartLabel(){
 
-        // Load skin which includes the font
-        skin = new Skin(Gdx.files.internal("skins/game_over_skin.json"));
+        // Get skin which includes the font
+        skin = game.assets.getSkin(Assets.GAME_OVER_SKIN);
 
         // Create a font family (because TypingLabel does not support skins)
         Font.FontFamily fontFamily = new Font.FontFamily(skin);
@@ -303,8 +472,8 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
         // Create "Press ENTER to start" message
         enterMessageLabel = new TypingLabel("{FADE}Press {GRADIENT=ffffffff;90ffa7ff;1.0;3.6}{WAVE=0.5;1.0;1.0}ENTER{ENDWAVE}{ENDGRADIENT} to start...{ENDFADE}", fontFamily.connected[0]);
 
-        // Create stage and table
-        stage = new Stage();
+        // Create stage and table, with the default viewport of a stage
+        stage = new Stage(new ScalingViewport(Scaling.stretch, Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), new OrthographicCamera()), this.spriteBatch);
         table = new Table();
         table.setFillParent(true);
 
@@ -323,14 +492,13 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
     @Override
     public void resetGame() {
 
-        resetObject(player); // Reset player velocity, position and states
-        resetObject(tiles); // Reset tiles to prepare for new game
-        resetObject(scoreManager); // Reset score
-        resetObject(coinManager); // Reset all coins
+        resetObject(world); // Reset player, tiles, coins and score
         resetObject(soundManager); // Reset sound play flag
-        resetObject(effectsManager); // Reset lava particle effect
+        resetObject(effectsManager); // Stop lava particle effect
         resetObject(gameOverHud); // Reset Game Over HUD
         resetObject(sharedAssets);
+        fixedTimestep.reset(); // Clear any accumulated simulation time
+        keyEventQueue.clear(); // Drop jumps that have not been simulated
         startMode = true; // Set flag to show start mode again
     }
 
@@ -338,4 +506,20 @@ public class PlayScreen implements Screen, HudListener, GameOverListener {
     public void pauseGame() {
         pauseState.togglePause();
     }
+
+    @Override
+    public void coinCollected() {
+        soundManager.coinPickupSound();
+    }
+
+    @Override
+    public void playerDied() {
+        soundManager.stopBackgroundMusic(); // Stop background music
+        soundManager.playGameOverSound(); // Play game over sound
+
+        // Start lava explosion at death spot
+        float deathXPosition = player.getXPosition() - player.getWidth() / 5f;
+        float deathYPosition = background.getGroundHeight() / 2f;
+        effectsManager.spawnLavaExplosion(deathXPosition, deathYPosition);
+    }
 }
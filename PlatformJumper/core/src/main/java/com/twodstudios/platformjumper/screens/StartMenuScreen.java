@@ -11,12 +11,14 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.twodstudios.platformjumper.Assets;
 import com.twodstudios.platformjumper.EffectsManager;
 import com.twodstudios.platformjumper.Main;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.twodstudios.platformjumper.SharedAssets;
 import com.twodstudios.platformjumper.SoundManager;
+import com.twodstudios.platformjumper.ViewCuller;
 
 public class StartMenuScreen implements Screen {
     private final Main game;
@@ -25,9 +27,14 @@ public class StartMenuScreen implements Screen {
     private final Stage stage;
     private final Table table;
     private final OrthographicCamera camera;
+    private final ViewCuller viewCuller;
     private Viewport viewport;
     private final SoundManager soundManager;
 
+    // Screens opened from the menu, created the first time they are opened and shown again after that
+    private PlayScreen playScreen;
+    private HighscoreScreen highscoreScreen;
+
     // Background variables
     private final Texture backgroundImage;
     private float bg1XPosition;
@@ -44,20 +51,23 @@ public class StartMenuScreen implements Screen {
         this.game = game;
         this.sharedAssets = sharedAssets;
         this.soundManager = soundManager;
-        this.effectsManager = new EffectsManager(game.spriteBatch);
+        this.effectsManager = new EffectsManager(game.spriteBatch, game.assets);
 
         // Camera and ViewPort
         this.camera = new OrthographicCamera();
         this.viewport = new FitViewport(Main.WORLD_WIDTH, Main.WORLD_HEIGHT, camera);
         this.camera.setToOrtho(false, Main.WORLD_WIDTH, Main.WORLD_HEIGHT);
+        this.viewCuller = new ViewCuller();
+        this.viewCuller.setView(camera); // The menu camera never moves or zooms
+        this.effectsManager.setViewCuller(viewCuller);
 
         // Background
-        this.backgroundImage = new Texture("menu_background.png");
+        this.backgroundImage = game.assets.getTexture(Assets.MENU_BACKGROUND);
         this.bg1XPosition = 0;
         this.bg2XPosition = backgroundWidth;
 
         // Stage and Table for the main menu
-        this.stage = new Stage(viewport);
+        this.stage = new Stage(viewport, game.spriteBatch);
         this.table = new Table();
         table.setFillParent(true);
         table.center().padTop(100);
@@ -89,7 +99,7 @@ public class StartMenuScreen implements Screen {
 
         // Draw the stage
         stage.act(delta);
-        stage.draw();
+        Main.drawStage(stage);
     }
 
     //** Draw a moving background. */
@@ -141,26 +151,55 @@ public class StartMenuScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        backgroundImage.dispose();
-        soundManager.dispose();
         effectsManager.dispose();
-        sharedAssets.dispose();
+        if (playScreen != null) {
+            playScreen.dispose();
+        }
+        if (highscoreScreen != null) {
+            highscoreScreen.dispose();
+        }
+    }
+
+    /** Switch to the game screen once its assets are loaded, like the start button does. */
+    public void openPlayScreen() {
+        game.loadScreen(new LoadingScreen.ScreenFactory() {
+            @Override
+            public Screen createScreen() {
+                if (playScreen == null) {
+                    playScreen = new PlayScreen(game, StartMenuScreen.this);
+                }
+                return playScreen;
+            }
+        }, Assets.Group.PLAY);
+        soundManager.stopMenuMusic();
+    }
+
+    /** Switch to the high score screen once its assets are loaded, like the high score button does. */
+    public void openHighscoreScreen() {
+        game.loadScreen(new LoadingScreen.ScreenFactory() {
+            @Override
+            public Screen createScreen() {
+                if (highscoreScreen == null) {
+                    highscoreScreen = new HighscoreScreen(game, StartMenuScreen.this, effectsManager);
+                }
+                return highscoreScreen;
+            }
+        }, Assets.Group.HIGHSCORE);
     }
 
 
     //** Setup all the buttons for the main menu. */
     private void createMainMenu() {
 
-        // Load the skin
-        Skin skin = new Skin(Gdx.files.internal("atlas/main_menu.json"));
+        // Get the skin
+        Skin skin = game.assets.getSkin(Assets.MAIN_MENU_SKIN);
 
         // Create Start button
         ImageButton startButton = new ImageButton(skin, "play_button");
         startButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                game.setScreen(new PlayScreen(game, StartMenuScreen.this)); // Switch to game screen
-                soundManager.stopMenuMusic();
+                openPlayScreen();
             }
         });
 
@@ -173,7 +212,7 @@ public class StartMenuScreen implements Screen {
         highscoreButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                game.setScreen(new HighscoreScreen(game, StartMenuScreen.this, effectsManager)); // Switch to high score screen
+                openHighscoreScreen();
             }
         });
 
@@ -0,0 +1,100 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Counts the draw calls and vertices of the parallax background on the mock GL. Each layer and the ground is one
+ * quad, and the slow layers come from their cache, instead of three copies per layer and a row of ground tiles.
+ */
+public class BackgroundDrawTest {
+
+    private static final float FRAME_TIME = 1 / 60f;
+    private static final int FRAMES = 600;
+    private static final int LAYERS = 6;
+    private static final int VERTICES_PER_QUAD = 6; // Counted as indices, like GLProfiler does
+
+    // Moving: the cache of the 3 slow layers, the 3 other layers and the ground. Every third frame at most, the 3
+    // slow layers are also drawn into their cache
+    private static final int MOVING_QUADS = 5;
+    private static final int CACHE_QUADS = 3;
+
+    private MockGL20 mockGL;
+    private Main game;
+    private Background background;
+
+    @Before
+    public void setUp() {
+        mockGL = HeadlessGdx.init();
+        game = new Main();
+        game.assets = HeadlessGdx.getPlayAssets();
+        game.spriteBatch = new SpriteBatch();
+        background = new Background(Assets.PARALLAX_ATLAS, 300f, LAYERS, game);
+    }
+
+    @After
+    public void tearDown() {
+        background.dispose();
+        game.spriteBatch.dispose();
+    }
+
+    @Test
+    public void movingBackgroundDrawsOneQuadPerLayer() {
+        drawFrame(true); // Creates the cache of the slow layers
+
+        int totalQuads = 0;
+        for (int i = 0; i < FRAMES; i++) {
+            drawFrame(true);
+            int quads = mockGL.getVertexCount() / VERTICES_PER_QUAD;
+            assertTrue("Frame " + i + " drew " + quads + " quads", quads == MOVING_QUADS || quads == MOVING_QUADS + CACHE_QUADS);
+            // The cache texture and the layer texture, plus the pass into the cache when it is redrawn
+            assertTrue("Frame " + i + " made " + mockGL.getDrawCalls() + " draw calls", mockGL.getDrawCalls() <= 3);
+            totalQuads += quads;
+        }
+
+        // The cache is redrawn at most every third frame
+        int cacheRedraws = (totalQuads - FRAMES * MOVING_QUADS) / CACHE_QUADS;
+        assertTrue("Cache redrawn " + cacheRedraws + " times in " + FRAMES + " frames, "
+            + (float) totalQuads / FRAMES + " quads per frame", cacheRedraws <= FRAMES / 3);
+    }
+
+    @Test
+    public void frameWithoutCacheRedrawHasTwoRenderCalls() {
+        drawFrame(true);
+        for (int i = 0; i < 3; i++) {
+            drawFrame(true);
+            if (mockGL.getVertexCount() == MOVING_QUADS * VERTICES_PER_QUAD) {
+                assertEquals("Render calls", 2, game.spriteBatch.renderCalls);
+                assertEquals("Draw calls", 2, mockGL.getDrawCalls());
+                return;
+            }
+        }
+        fail("Every frame redrew the cache");
+    }
+
+    @Test
+    public void standingStillDrawsOneSnapshot() {
+        drawFrame(false); // Draws the snapshot of all layers
+        assertEquals("Quads drawn into the snapshot and to the screen", (LAYERS + 2) * VERTICES_PER_QUAD, mockGL.getVertexCount());
+
+        for (int i = 0; i < 10; i++) {
+            drawFrame(false);
+            assertEquals("Snapshot and ground", 2 * VERTICES_PER_QUAD, mockGL.getVertexCount());
+            assertEquals("Render calls", 2, game.spriteBatch.renderCalls);
+            assertEquals("Draw calls", 2, mockGL.getDrawCalls());
+        }
+    }
+
+    /** Draw the background and the ground like PlayScreen does, with the GL counters reset before. */
+    private void drawFrame(boolean shouldMove) {
+        mockGL.resetCounters();
+        game.spriteBatch.begin();
+        background.drawBackgroundSet(shouldMove, FRAME_TIME);
+        background.drawGround(shouldMove, FRAME_TIME);
+        game.spriteBatch.end();
+    }
+}
@@ -0,0 +1,89 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Spawns, collects, evicts and draws 100 000 coins the way the game does, and checks that no textures are loaded
+ * and nothing is allocated for them once the pool and the arrays have grown to their working size.
+ */
+public class CoinPoolSoakTest {
+
+    private static final int SPAWNED_COINS = 100000;
+    private static final int WARMUP_COINS = 10000;
+    private static final float STEP_TIME = 1 / 60f;
+    private static final long JVM_TOLERANCE_BYTES = 4096; // Reading the allocated bytes can allocate a little itself
+
+    private static Assets assets;
+
+    @BeforeClass
+    public static void setUp() {
+        assets = HeadlessGdx.getPlayAssets();
+    }
+
+    @Test
+    public void spawningCoinsKeepsTexturesAndHeapConstant() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue("Thread allocation measurement is not supported", threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        Tiles tiles = new Tiles(300f);
+        CoinManager coinManager = new CoinManager(300f);
+        LevelStream levelStream = new LevelStream(tiles, coinManager, 42L);
+        NullBatch batch = new NullBatch();
+        CoinRenderer coinRenderer = new CoinRenderer(batch, coinManager, new ViewCuller(), assets);
+        int textureCount = Texture.getNumManagedTextures();
+
+        int spawnedCoins = 0;
+        long warmBytes = -1;
+        while (spawnedCoins < SPAWNED_COINS) {
+            if (warmBytes == -1 && spawnedCoins >= WARMUP_COINS) {
+                warmBytes = threadBean.getThreadAllocatedBytes(threadId);
+            }
+            spawnedCoins += step(tiles, coinManager, levelStream);
+
+            // Draw the coins like the play screen, on a batch that draws nothing
+            coinRenderer.updateAnimationTime(STEP_TIME);
+            batch.begin();
+            coinRenderer.drawCoins(1f);
+            batch.end();
+        }
+        long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - warmBytes;
+
+        assertEquals("Textures loaded while spawning coins", textureCount, Texture.getNumManagedTextures());
+        assertTrue("Allocated " + allocatedBytes + " bytes after warm-up", allocatedBytes <= JVM_TOLERANCE_BYTES);
+    }
+
+    /**
+     * Run one simulation step of the level: spawn coins ahead, pick up every fifth coin on screen, evict coins that
+     * left the screen and move everything left.
+     * @return Amount of coins spawned during the step.
+     */
+    private int step(Tiles tiles, CoinManager coinManager, LevelStream levelStream) {
+        Array<Coin> coins = coinManager.getCoins();
+        int coinCount = coins.size;
+        levelStream.fillBuffer();
+        int spawned = coins.size - coinCount;
+
+        for (int i = 0; i < coins.size; i++) {
+            Coin coin = coins.get(i);
+            if (coin.getX() < Main.WORLD_WIDTH / 2 && (i % 5) == 0) {
+                coinManager.collectCoin(i);
+            }
+        }
+        tiles.removeOffscreenTiles();
+        coinManager.removeOffscreenCoins();
+        tiles.moveTiles(STEP_TIME);
+        coinManager.moveCoins(STEP_TIME);
+        levelStream.advance(tiles.getStepDistance());
+        return spawned;
+    }
+}
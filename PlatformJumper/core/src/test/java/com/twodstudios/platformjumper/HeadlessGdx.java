@@ -0,0 +1,41 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+
+/**
+ * Sets up libGDX for tests: the headless backend for files and natives, and a {@link MockGL20} so that textures,
+ * sprite batches and frame buffers can be created and used without a GPU. Internal files are read from the
+ * working directory of the tests, which is the assets folder.
+ */
+public final class HeadlessGdx {
+
+    private static MockGL20 mockGL;
+    private static Assets assets;
+
+    private HeadlessGdx() {}
+
+    /** Start the headless application and install the mock GL, once for all tests. */
+    public static synchronized MockGL20 init() {
+        if (mockGL == null) {
+            new HeadlessApplication(new ApplicationAdapter() {});
+            Gdx.app.exit(); // Gdx.app stays set, the application loop is not needed
+            mockGL = MockGL20.create();
+            Gdx.gl = mockGL.getGL();
+            Gdx.gl20 = mockGL.getGL();
+        }
+        return mockGL;
+    }
+
+    /** Get the asset service with the assets of the game screen loaded, loading them on first use. */
+    public static synchronized Assets getPlayAssets() {
+        init();
+        if (assets == null) {
+            assets = new Assets();
+            assets.load(Assets.Group.PLAY);
+            assets.finishLoading();
+        }
+        return assets;
+    }
+}
@@ -0,0 +1,175 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.utils.Json;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/** Checks that the high scores survive a writer that is killed during a write, and writes that left a temporary file. */
+public class HighScoreStoreTest {
+
+    private static final long SEED = 42L;
+    private static final int PREFILLED_ENTRIES = 200000; // Large enough that a write takes a few milliseconds
+    private static final int KILLS = 20;
+    private static final int MAX_KILL_DELAY_MILLIS = 100;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private File temporaryFile;
+    private File legacyFile;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "high_scores.bin");
+        temporaryFile = new File(folder.getRoot(), "high_scores.bin.tmp");
+        legacyFile = new File(folder.getRoot(), "high_scores.json"); // Never created, nothing to migrate
+    }
+
+    @Test
+    public void killedWriterLeavesValidSortedHighScores() throws Exception {
+        Random random = new Random(SEED);
+        writeLeaderboard(file, createLeaderboard(random, PREFILLED_ENTRIES));
+        int entryCount = PREFILLED_ENTRIES;
+
+        for (int i = 0; i < KILLS; i++) {
+            Process process = startWriter(random.nextLong());
+            try {
+                awaitWriting(process);
+                Thread.sleep(random.nextInt(MAX_KILL_DELAY_MILLIS));
+            } finally {
+                process.destroyForcibly().waitFor(); // SIGKILL, the writer gets no chance to finish
+            }
+
+            LeaderboardFile.read(file.toPath()); // Throws if the file is not a complete leaderboard file
+            HighScoreSnapshot snapshot = new HighScoreStore(file, legacyFile).getSnapshot();
+            assertTrue("Lost entries after kill " + i, snapshot.getEntryCount() >= entryCount);
+            assertSorted(snapshot);
+            assertFalse("Temporary file left after loading", temporaryFile.exists());
+            assertFalse("High scores considered damaged", new File(folder.getRoot(), "high_scores.bin.damaged").exists());
+            entryCount = snapshot.getEntryCount();
+        }
+    }
+
+    @Test
+    public void incompleteTemporaryFileNextToValidFileIsDeleted() throws IOException {
+        Leaderboard leaderboard = createLeaderboard(new Random(SEED), 1000);
+        writeLeaderboard(file, leaderboard);
+
+        // An interrupted write leaves the start of a newer file
+        writeLeaderboard(temporaryFile, createLeaderboard(new Random(SEED + 1), 2000));
+        byte[] content = Files.readAllBytes(temporaryFile.toPath());
+        Files.write(temporaryFile.toPath(), Arrays.copyOf(content, content.length / 2));
+
+        HighScoreSnapshot snapshot = new HighScoreStore(file, legacyFile).getSnapshot();
+        assertEquals(1000, snapshot.getEntryCount());
+        assertTopScores(HighScoreSnapshot.of(leaderboard, 0), snapshot);
+        assertFalse("Temporary file not deleted", temporaryFile.exists());
+    }
+
+    @Test
+    public void completeTemporaryFileWithoutFileIsRecovered() throws IOException {
+        // The write was complete, but the process died before the temporary file was moved
+        Leaderboard leaderboard = createLeaderboard(new Random(SEED), 1000);
+        writeLeaderboard(temporaryFile, leaderboard);
+
+        HighScoreStore store = new HighScoreStore(file, legacyFile);
+        assertEquals(1000, store.getSnapshot().getEntryCount());
+        assertTopScores(HighScoreSnapshot.of(leaderboard, 0), store.getSnapshot());
+
+        // The recovered scores are written back to the high score file
+        store.start();
+        store.close();
+        assertTrue("Recovered high scores not written", store.isWritten());
+        assertFalse("Temporary file not moved", temporaryFile.exists());
+        assertEquals(1000, LeaderboardFile.read(file.toPath()).getSize());
+    }
+
+    @Test
+    public void incompleteTemporaryFileWithoutFileStartsEmpty() throws IOException {
+        writeLeaderboard(temporaryFile, createLeaderboard(new Random(SEED), 1000));
+        byte[] content = Files.readAllBytes(temporaryFile.toPath());
+        Files.write(temporaryFile.toPath(), Arrays.copyOf(content, content.length - 1));
+
+        HighScoreSnapshot snapshot = new HighScoreStore(file, legacyFile).getSnapshot();
+        assertEquals(0, snapshot.getEntryCount());
+        assertFalse("Temporary file not deleted", temporaryFile.exists());
+    }
+
+    /** Start a process that writes high scores to the file until it is killed. */
+    private Process startWriter(long seed) throws IOException, URISyntaxException {
+        String classPath = System.getProperty("java.class.path")
+            + File.pathSeparator + getLocation(HighScoreWriterProcess.class)
+            + File.pathSeparator + getLocation(HighScoreStore.class)
+            + File.pathSeparator + getLocation(Json.class);
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", classPath, HighScoreWriterProcess.class.getName(),
+            file.getPath(), legacyFile.getPath(), Long.toString(seed));
+        builder.redirectErrorStream(true);
+        return builder.start();
+    }
+
+    private static String getLocation(Class<?> type) throws URISyntaxException {
+        return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+    }
+
+    /** Wait until the writer process has written the high scores once. */
+    private static void awaitWriting(Process process) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.equals(HighScoreWriterProcess.WRITING)) {
+                return;
+            }
+            System.out.println(line); // Messages of the store, e.g. about recovered files
+        }
+        fail("Writer process ended before writing");
+    }
+
+    private static Leaderboard createLeaderboard(Random random, int entries) {
+        Leaderboard leaderboard = new Leaderboard();
+        for (int i = 0; i < entries; i++) {
+            leaderboard.add("P" + random.nextInt(1000), random.nextInt(Leaderboard.MAX_SCORE + 1));
+        }
+        return leaderboard;
+    }
+
+    private static void writeLeaderboard(File target, Leaderboard leaderboard) throws IOException {
+        try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            LeaderboardFile.write(channel, HighScoreSnapshot.of(leaderboard, 0));
+        }
+    }
+
+    private static void assertSorted(HighScoreSnapshot snapshot) {
+        assertEquals(Leaderboard.TOP_SIZE, snapshot.getSize());
+        for (int i = 1; i < snapshot.getSize(); i++) {
+            assertTrue("Top scores not sorted at " + i, snapshot.getScore(i - 1) >= snapshot.getScore(i));
+        }
+    }
+
+    private static void assertTopScores(HighScoreSnapshot expected, HighScoreSnapshot actual) {
+        assertEquals(expected.getSize(), actual.getSize());
+        for (int i = 0; i < expected.getSize(); i++) {
+            assertEquals(expected.getName(i), actual.getName(i));
+            assertEquals(expected.getScore(i), actual.getScore(i));
+        }
+    }
+}
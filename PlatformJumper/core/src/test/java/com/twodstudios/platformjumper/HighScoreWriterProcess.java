@@ -0,0 +1,34 @@
+package com.twodstudios.platformjumper;
+
+import java.io.File;
+import java.util.Random;
+
+/**
+ * Process for {@link HighScoreStoreTest} that submits scores to a {@link HighScoreStore} as fast as it writes them,
+ * until it is killed. Prints {@link #WRITING} once the first write is done, so the test knows writes are going on.
+ * <p>
+ * Arguments: leaderboard file, legacy JSON file and the seed of the submitted scores.
+ */
+public final class HighScoreWriterProcess {
+
+    static final String WRITING = "WRITING";
+
+    private HighScoreWriterProcess() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        HighScoreStore store = new HighScoreStore(new File(args[0]), new File(args[1]));
+        Random random = new Random(Long.parseLong(args[2]));
+        store.start();
+
+        boolean reported = false;
+        while (true) {
+            store.submit("P" + random.nextInt(1000), random.nextInt(Leaderboard.MAX_SCORE + 1));
+            if (!reported && store.getWriteCount() > 0) {
+                System.out.println(WRITING);
+                System.out.flush();
+                reported = true;
+            }
+            Thread.sleep(1); // A new score for every write, the writer thread is always busy
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.twodstudios.platformjumper;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that the HUD allocates nothing per frame while the score stays the same, including the frames where the
+ * rotating coin moves to its next animation frame. The HUD draws into a {@link NullBatch}, so the GL is never called.
+ */
+public class HudAllocationTest {
+
+    private static final float FRAME_TIME = 1 / 60f;
+    private static final int WARMUP_FRAMES = 2000;
+    private static final int FRAMES = 20000;
+    private static final long JVM_TOLERANCE_BYTES = 4096; // Reading the allocated bytes can allocate a little itself
+
+    @Test
+    public void steadyStateFramesAllocateNothing() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue("Thread allocation measurement is not supported", threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        NullBatch batch = new NullBatch();
+        Hud hud = new Hud(new HudListener() {
+            @Override
+            public void pauseGame() {
+            }
+        }, batch, HeadlessGdx.getPlayAssets());
+
+        // Warm up with changing scores, so the label has grown its buffers and the JIT compiler has settled
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            hud.setScore(i / 10);
+            hud.render(FRAME_TIME);
+        }
+        hud.setScore(42);
+        hud.render(FRAME_TIME);
+
+        int drawCount = batch.getDrawCount();
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < FRAMES; i++) {
+            hud.setScore(42);
+            hud.render(FRAME_TIME);
+        }
+        long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        assertTrue("The HUD was not drawn", batch.getDrawCount() > drawCount);
+        assertTrue("Allocated " + allocatedBytes + " bytes over " + FRAMES + " frames", allocatedBytes <= JVM_TOLERANCE_BYTES);
+        hud.dispose();
+    }
+}
@@ -0,0 +1,138 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * GL20 for headless tests that draws nothing, but counts what would have been drawn. Every GL call is accepted:
+ * shaders compile, frame buffers are complete and every created object gets its own handle. The counters are the
+ * ones {@link com.badlogic.gdx.graphics.profiling.GLProfiler} keeps: draw calls, vertices (indices for indexed
+ * draws) and texture bindings, plus the amount of times a different texture was bound. Created buffers and shader
+ * programs are counted too: every {@link com.badlogic.gdx.graphics.Mesh} that is not backed by vertex arrays creates
+ * buffers, and every sprite batch and shape renderer compiles its own shader program.
+ * <p>
+ * Every call goes through a {@link Proxy}, which allocates its arguments, so code drawn through this GL cannot be
+ * checked for allocations.
+ */
+public class MockGL20 implements InvocationHandler {
+
+    private final GL20 gl;
+    private int nextHandle = 1;
+    private int boundTexture;
+
+    private int drawCalls;
+    private int vertexCount;
+    private int textureBindings;
+    private int textureSwitches;
+    private int buffersCreated;
+    private int programsCreated;
+
+    private MockGL20() {
+        gl = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, this);
+    }
+
+    /** Create a new mock GL. Install it with {@code Gdx.gl = Gdx.gl20 = mock.getGL()}. */
+    public static MockGL20 create() {
+        return new MockGL20();
+    }
+
+    public GL20 getGL() {
+        return gl;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        if (method.getDeclaringClass() == Object.class) {
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            return name.equals("hashCode") ? System.identityHashCode(proxy) : "MockGL20";
+        }
+
+        if (name.equals("glGenBuffer") || name.equals("glGenBuffers")) {
+            buffersCreated += name.equals("glGenBuffer") ? 1 : (Integer) args[0];
+        } else if (name.equals("glCreateProgram")) {
+            programsCreated++;
+        }
+
+        if (name.equals("glDrawElements") || name.equals("glDrawArrays")) {
+            drawCalls++;
+            vertexCount += (Integer) args[name.equals("glDrawElements") ? 1 : 2];
+        } else if (name.equals("glBindTexture")) {
+            textureBindings++;
+            int texture = (Integer) args[1];
+            if (texture != boundTexture) {
+                boundTexture = texture;
+                textureSwitches++;
+            }
+        } else if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+            int parameter = (Integer) args[1];
+            boolean success = parameter == GL20.GL_COMPILE_STATUS || parameter == GL20.GL_LINK_STATUS;
+            ((IntBuffer) args[2]).put(0, success ? 1 : 0); // No active attributes or uniforms, they are looked up by name
+        } else if (name.equals("glCheckFramebufferStatus")) {
+            return GL20.GL_FRAMEBUFFER_COMPLETE;
+        } else if ((name.startsWith("glGen") || name.startsWith("glCreate")) && method.getReturnType() == int.class) {
+            return nextHandle++;
+        }
+        return defaultValue(method.getReturnType());
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == int.class) {
+            return 0;
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == String.class) {
+            return "";
+        }
+        return null;
+    }
+
+    /** Reset all counters to 0, typically at the start of a frame. */
+    public void resetCounters() {
+        drawCalls = 0;
+        vertexCount = 0;
+        textureBindings = 0;
+        textureSwitches = 0;
+        boundTexture = 0;
+        buffersCreated = 0;
+        programsCreated = 0;
+    }
+
+    /** Get the amount of glDrawElements and glDrawArrays calls. */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /** Get the amount of vertices drawn, counted as indices for indexed draws like GLProfiler does. */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /** Get the amount of glBindTexture calls. */
+    public int getTextureBindings() {
+        return textureBindings;
+    }
+
+    /** Get the amount of times a different texture than the bound one was bound. */
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    /** Get the amount of vertex and index buffers created. */
+    public int getBuffersCreated() {
+        return buffersCreated;
+    }
+
+    /** Get the amount of shader programs created. */
+    public int getProgramsCreated() {
+        return programsCreated;
+    }
+}
@@ -0,0 +1,141 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the outcome of seeded levels with random jumps at 15, 60 and 240 Hz against a reference stepped at
+ * 3840 Hz. Jumps are pressed at the start of a 1/15 s tick, so every tick rate sees them at the same time.
+ * <p>
+ * The coins collected and whether the player dies have to be identical. The tick rates are not bit for bit equal,
+ * since the positions of the tiles and coins are sums of many float steps, so two tolerances are asserted:
+ * <ul>
+ * <li>The height at the end of each 1/15 s tick may differ by {@link #HEIGHT_TOLERANCE} pixels.</li>
+ * <li>The death is only seen at the end of a step, so its time may differ by one step of the slowest tick rate,
+ * {@link #DEATH_TIME_TOLERANCE} seconds.</li>
+ * </ul>
+ */
+public class PhysicsSweepTest {
+
+    private static final long SEED = 1L;
+    private static final int LEVELS = 40;
+    private static final int JUMPS = 60;
+    private static final float SECONDS = 30f;
+    private static final int INPUT_RATE = 15; // Jumps are pressed at the start of a tick of this rate
+    private static final int REFERENCE_RATE = 3840;
+    private static final int[] TICK_RATES = {15, 60, 240};
+    private static final float HEIGHT_TOLERANCE = 0.5f;
+    private static final float DEATH_TIME_TOLERANCE = 1f / INPUT_RATE + 1e-6f;
+    private static final float BASELINE_APEX = 178.7f; // Jump height of the earlier 60 Hz velocity-then-position steps
+    private static final float APEX_TOLERANCE = 0.1f;
+
+    @Test
+    public void tickRatesMatchFineSteppedReference() {
+        Random random = new Random(SEED);
+        int deaths = 0;
+        int coins = 0;
+        for (int level = 1; level <= LEVELS; level++) {
+            // Random jumps 3 to 14 input ticks apart
+            IntArray jumpTicks = new IntArray();
+            int tick = 0;
+            for (int i = 0; i < JUMPS; i++) {
+                tick += 3 + random.nextInt(12);
+                jumpTicks.add(tick);
+            }
+
+            Outcome reference = run(level, REFERENCE_RATE, jumpTicks);
+            if (reference.dead) {
+                deaths++;
+            }
+            coins += reference.coins;
+            for (int tickRate : TICK_RATES) {
+                Outcome outcome = run(level, tickRate, jumpTicks);
+                String message = "Level " + level + " at " + tickRate + " Hz: ";
+                assertEquals(message + "dead", reference.dead, outcome.dead);
+                assertEquals(message + "coins", reference.coins, outcome.coins);
+                assertEquals(message + "time of death", reference.time, outcome.time, DEATH_TIME_TOLERANCE);
+                int ticks = Math.min(reference.heights.size, outcome.heights.size);
+                if (reference.dead) {
+                    ticks--; // The tick of the death may end at a different step
+                }
+                for (int i = 0; i < ticks; i++) {
+                    assertEquals(message + "height after tick " + i, reference.heights.get(i), outcome.heights.get(i), HEIGHT_TOLERANCE);
+                }
+            }
+        }
+
+        // The levels have to test both deaths and coins picked up along the way
+        assertTrue("No level ended in a death", deaths > 0);
+        assertTrue("No coin was collected", coins > 0);
+    }
+
+    @Test
+    public void jumpKeepsBaselineHeight() {
+        GameWorld world = new GameWorld(300f, SEED);
+        float startY = world.getPlayer().getYPosition();
+        float highest = startY;
+        float stepTime = 1f / REFERENCE_RATE;
+        world.step(stepTime, true);
+        while (world.getPlayer().getVerticalVelocity() > 0) {
+            highest = Math.max(highest, world.getPlayer().getYPosition());
+            world.step(stepTime, false);
+        }
+        highest = Math.max(highest, world.getPlayer().getYPosition());
+        assertEquals("Jump height", BASELINE_APEX, highest - startY, APEX_TOLERANCE);
+    }
+
+    /**
+     * Run a level at a tick rate.
+     * @param seed Seed of the level.
+     * @param tickRate Steps per second.
+     * @param jumpTicks Input ticks to press jump at, in ascending order.
+     */
+    private Outcome run(long seed, int tickRate, IntArray jumpTicks) {
+        final Outcome outcome = new Outcome();
+        GameWorld world = new GameWorld(300f, seed);
+        world.setGameEventListener(new GameEventListener() {
+            @Override
+            public void coinCollected() {
+                outcome.coins++;
+            }
+
+            @Override
+            public void playerDied() {
+            }
+        });
+
+        int stepsPerTick = tickRate / INPUT_RATE;
+        int steps = (int) (SECONDS * tickRate);
+        int jump = 0;
+        for (int i = 0; i < steps && !world.getPlayer().isDead(); i++) {
+            boolean jumpPressed = false;
+            if (i % stepsPerTick == 0) {
+                int tick = i / stepsPerTick;
+                while (jump < jumpTicks.size && jumpTicks.get(jump) < tick) {
+                    jump++;
+                }
+                jumpPressed = jump < jumpTicks.size && jumpTicks.get(jump) == tick;
+            }
+            world.step(1f / tickRate, jumpPressed);
+            if ((i + 1) % stepsPerTick == 0) {
+                outcome.heights.add(world.getPlayer().getYPosition());
+            }
+        }
+        outcome.dead = world.getPlayer().isDead();
+        outcome.time = (float) world.getStepCount() / tickRate;
+        return outcome;
+    }
+
+    /** Outcome of a run. */
+    private static class Outcome {
+        boolean dead;
+        int coins;
+        float time; // Time simulated until the death or the end of the run
+        final FloatArray heights = new FloatArray(); // Height of the player after each input tick
+    }
+}
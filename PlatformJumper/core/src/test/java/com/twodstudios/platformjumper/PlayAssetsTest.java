@@ -0,0 +1,34 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Loads the assets of the game screen the way {@link com.twodstudios.platformjumper.screens.LoadingScreen} does. The
+ * gameplay particle effects take their images from the atlas packed by the {@code packTextures} task, so an image
+ * missing from the atlas fails the loading.
+ */
+public class PlayAssetsTest {
+
+    private static final String[] GAMEPLAY_EFFECTS = {Assets.LAVA_SPARKLES_EFFECT, Assets.LAVA_EXPLOSION_EFFECT};
+
+    @Test
+    public void playGroupLoads() {
+        HeadlessGdx.init();
+        Assets assets = new Assets();
+        assets.load(Assets.Group.PLAY);
+        assets.finishLoading();
+        assertTrue("The play group is not loaded", assets.isLoaded(Assets.Group.PLAY));
+
+        for (String fileName : GAMEPLAY_EFFECTS) {
+            ParticleEffect effect = assets.getParticleEffect(fileName);
+            for (ParticleEmitter emitter : effect.getEmitters()) {
+                assertEquals(fileName + ": images of emitter " + emitter.getName(), emitter.getImagePaths().size, emitter.getSprites().size);
+            }
+        }
+        assets.dispose();
+    }
+}
@@ -0,0 +1,125 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.twodstudios.platformjumper.screens.HighscoreScreen;
+import com.twodstudios.platformjumper.screens.LoadingScreen;
+import com.twodstudios.platformjumper.screens.PlayScreen;
+import com.twodstudios.platformjumper.screens.StartMenuScreen;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * Visits the game and high score screens from the start menu again and again, like a player does, and checks on the
+ * {@link MockGL20} that no sprite batch, shape renderer or mesh is created after the first visit. Every sprite batch
+ * and shape renderer compiles a shader program and every mesh on buffers creates them, so both must stay at 0.
+ * <p>
+ * The pages of the logo atlas are not in the assets folder, so 1x1 stand-ins are put on the test classpath, where the
+ * headless backend looks for internal files that are missing.
+ */
+public class ScreenReuseTest {
+
+    private static final int VISITS = 3;
+    private static final int FRAMES_PER_VISIT = 30;
+    private static final float FRAME_TIME = 1 / 60f;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private MockGL20 mockGL;
+    private Main game;
+
+    @Before
+    public void setUp() {
+        mockGL = HeadlessGdx.init();
+
+        // Set up the game like Main.create, with the high scores in a temporary folder
+        game = new Main();
+        game.spriteBatch = new SpriteBatch();
+        game.shapeRenderer = new ShapeRenderer();
+        game.assets = new Assets();
+        game.leaderboardService = new LeaderboardService(new File(folder.getRoot(), "high_scores.bin"), new File(folder.getRoot(), "high_scores.json"));
+        game.loadScreen(new LoadingScreen.ScreenFactory() {
+            @Override
+            public Screen createScreen() {
+                game.soundManager = new SoundManager(game.assets);
+                game.sharedAssets = new SharedAssets(game.spriteBatch, game.assets);
+                return new StartMenuScreen(game, game.sharedAssets, game.soundManager);
+            }
+        }, Assets.Group.SHARED, Assets.Group.MENU);
+        renderUntilLoaded();
+    }
+
+    @After
+    public void tearDown() {
+        game.getScreen().dispose();
+        game.dispose();
+    }
+
+    @Test
+    public void revisitingScreensCreatesNoBatchesOrMeshes() {
+        StartMenuScreen startMenuScreen = (StartMenuScreen) game.getScreen();
+
+        // The first visit creates the screens and what they keep
+        renderFrames();
+        Screen playScreen = visitPlayScreen(startMenuScreen);
+        Screen highscoreScreen = visitHighscoreScreen(startMenuScreen);
+        mockGL.resetCounters();
+
+        for (int i = 1; i <= VISITS; i++) {
+            assertSame("Game screen of visit " + i, playScreen, visitPlayScreen(startMenuScreen));
+            assertSame("High score screen of visit " + i, highscoreScreen, visitHighscoreScreen(startMenuScreen));
+        }
+        assertEquals("Shader programs created after the first visit", 0, mockGL.getProgramsCreated());
+        assertEquals("Buffers created after the first visit", 0, mockGL.getBuffersCreated());
+    }
+
+    /** Open the game screen from the menu, render it for a while and go back, like the pause menu does. */
+    private Screen visitPlayScreen(StartMenuScreen startMenuScreen) {
+        startMenuScreen.openPlayScreen();
+        renderUntilLoaded();
+        Screen screen = game.getScreen();
+        assertTrue("Game screen shown", screen instanceof PlayScreen);
+        renderFrames();
+        game.setScreen(startMenuScreen);
+        renderFrames();
+        return screen;
+    }
+
+    /** Open the high score screen from the menu, look at it for a while and go back, like the back button does. */
+    private Screen visitHighscoreScreen(StartMenuScreen startMenuScreen) {
+        startMenuScreen.openHighscoreScreen();
+        renderUntilLoaded();
+        Screen screen = game.getScreen();
+        assertTrue("High score screen shown", screen instanceof HighscoreScreen);
+        renderFrames();
+        game.setScreen(startMenuScreen);
+        renderFrames();
+        return screen;
+    }
+
+    /** Render the current screen for a while. */
+    private void renderFrames() {
+        for (int i = 0; i < FRAMES_PER_VISIT; i++) {
+            game.getScreen().render(FRAME_TIME);
+        }
+    }
+
+    /** If a loading screen is shown, draw its progress bar once, wait for the assets and show the loaded screen. */
+    private void renderUntilLoaded() {
+        if (game.getScreen() instanceof LoadingScreen) {
+            game.getScreen().render(FRAME_TIME);
+            game.assets.finishLoading();
+            game.getScreen().render(FRAME_TIME);
+        }
+        assertFalse("Assets still loading", game.getScreen() instanceof LoadingScreen);
+    }
+}
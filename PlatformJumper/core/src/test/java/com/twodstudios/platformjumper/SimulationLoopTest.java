@@ -0,0 +1,103 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.LongArray;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the latency from a jump press to the simulation at several frame rates. Presses are timed during each frame
+ * like the key listener of PlayScreen times them, and go through the {@link KeyEventQueue} and the
+ * {@link FixedTimestep} of a {@link SimulationLoop}. Every press has to be simulated in the first step that ends at
+ * or after it, and no step may jump without a press.
+ */
+public class SimulationLoopTest {
+
+    private static final long SEED = 42L;
+    private static final float TICK_RATE = 60f;
+    private static final float[] FRAME_RATES = {30f, 50f, 60f, 75f, 144f, 240f};
+    private static final int FRAMES = 5000;
+    private static final long START_TIME = 1_000_000_000L;
+    private static final long TIME_TOLERANCE_NANOS = 10_000; // Rounding of the float accumulator of the timestep
+
+    private SimulationLoop simulationLoop;
+    private final LongArray stepEndTimes = new LongArray();
+    private final BooleanArray stepJumps = new BooleanArray();
+
+    @Test
+    public void pressesAreSimulatedInTheFirstStepEndingAfterThem() {
+        Random random = new Random(SEED);
+        for (float frameRate : FRAME_RATES) {
+            checkLatency(frameRate, random);
+        }
+    }
+
+    private void checkLatency(float frameRate, Random random) {
+        stepEndTimes.clear();
+        stepJumps.clear();
+
+        // World that records the steps instead of simulating them, so the player never dies
+        GameWorld world = new GameWorld(300f, SEED) {
+            @Override
+            public void step(float deltaTime, boolean jumpPressed) {
+                stepEndTimes.add(simulationLoop.getStepEndTime());
+                stepJumps.add(jumpPressed);
+            }
+        };
+        FixedTimestep fixedTimestep = new FixedTimestep(TICK_RATE, 5);
+        KeyEventQueue keyEventQueue = new KeyEventQueue(16);
+        simulationLoop = new SimulationLoop(world, fixedTimestep, keyEventQueue);
+
+        // Frames of varying length, with up to two presses at random times in each
+        LongArray pressTimes = new LongArray();
+        long frameTime = START_TIME;
+        for (int i = 0; i < FRAMES; i++) {
+            long frameNanos = (long) (1e9 / frameRate * (0.9 + random.nextDouble() * 0.2));
+            int presses = random.nextInt(6) == 0 ? 1 + random.nextInt(2) : 0;
+            long pressTime = frameTime;
+            for (int j = 0; j < presses; j++) {
+                pressTime += 1 + (long) (random.nextDouble() * (frameTime + frameNanos - pressTime));
+                assertTrue(keyEventQueue.offer(Input.Keys.SPACE, pressTime));
+                pressTimes.add(pressTime);
+            }
+            frameTime += frameNanos;
+            simulationLoop.advance(frameNanos / 1e9f, frameTime);
+        }
+
+        long stepNanos = (long) (fixedTimestep.getStepTime() * 1e9);
+        for (int i = 1; i < stepEndTimes.size; i++) {
+            long stepLength = stepEndTimes.get(i) - stepEndTimes.get(i - 1);
+            assertEquals(frameRate + " fps: length of step " + i, stepNanos, stepLength, TIME_TOLERANCE_NANOS);
+        }
+
+        // Every press is simulated in the first step that ends at or after it
+        int step = 0;
+        for (int i = 0; i < pressTimes.size; i++) {
+            long pressTime = pressTimes.get(i);
+            while (step < stepEndTimes.size && stepEndTimes.get(step) < pressTime) {
+                step++;
+            }
+            if (step == stepEndTimes.size) {
+                break; // Pressed after the last step, still waiting in the queue
+            }
+            assertTrue(frameRate + " fps: press " + i + " not simulated in step " + step, stepJumps.get(step));
+            long latency = stepEndTimes.get(step) - pressTime;
+            assertTrue(frameRate + " fps: latency of press " + i + " is " + latency + " ns", latency < stepNanos + TIME_TOLERANCE_NANOS);
+        }
+
+        // And no step jumps without a press since the step before it
+        int press = 0;
+        for (int i = 0; i < stepEndTimes.size; i++) {
+            boolean pressed = false;
+            while (press < pressTimes.size && pressTimes.get(press) <= stepEndTimes.get(i)) {
+                pressed = true;
+                press++;
+            }
+            assertEquals(frameRate + " fps: jump of step " + i, pressed, stepJumps.get(i));
+        }
+    }
+}
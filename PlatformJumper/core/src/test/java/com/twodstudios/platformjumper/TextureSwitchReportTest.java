@@ -0,0 +1,145 @@
+package com.twodstudios.platformjumper;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reports the texture switches and render calls of one playing frame, with the sprites taken from the separate
+ * atlases and images the game used to load, and from the atlases packed by the {@code packTextures} task.
+ * <p>
+ * Both frames draw the same sprites in the order {@link com.twodstudios.platformjumper.screens.PlayScreen} draws
+ * them: the background layers and the ground, the tiles, the coins, the player and every image of the lava
+ * effects. The particle images are taken from the effects, loaded from the effects folder and from the packed
+ * atlas like {@link Assets} loads them, so an image missing from the atlas fails the report. The main logo is left
+ * out, since its page image is not in the repository.
+ */
+public class TextureSwitchReportTest {
+
+    private static final int LAYERS = 6;
+    private static final int TILES = 6;
+    private static final int COINS = 8;
+
+    private static MockGL20 mockGL;
+    private static SpriteBatch spriteBatch;
+    private static final Array<TextureAtlas> atlases = new Array<TextureAtlas>();
+    private static final Array<ParticleEffect> effects = new Array<ParticleEffect>();
+
+    @BeforeClass
+    public static void setUp() {
+        mockGL = HeadlessGdx.init();
+        spriteBatch = new SpriteBatch();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        spriteBatch.dispose();
+        for (TextureAtlas atlas : atlases) {
+            atlas.dispose();
+        }
+        for (ParticleEffect effect : effects) {
+            effect.dispose();
+        }
+    }
+
+    @Test
+    public void packedAtlasesNeedFewerTextureSwitchesAndRenderCalls() {
+        TextureAtlas lavaTheme = loadAtlas("atlas/lava_theme.atlas");
+        TextureAtlas coin = loadAtlas("atlas/coin.atlas");
+        TextureAtlas character = loadAtlas("atlas/character.atlas");
+        TextureRegion[] separate = frameRegions(lavaTheme, lavaTheme.findRegion("lava"), lavaTheme, coin, character, null);
+
+        TextureAtlas gameplay = loadAtlas(Assets.GAMEPLAY_ATLAS);
+        TextureAtlas parallax = loadAtlas(Assets.PARALLAX_ATLAS);
+        TextureRegion[] packed = frameRegions(parallax, parallax.findRegion("ground"), gameplay, gameplay, gameplay, gameplay);
+        assertEquals("Sprites in the frame", separate.length, packed.length);
+
+        int[] separateCounts = drawFrame(separate);
+        int[] packedCounts = drawFrame(packed);
+        String report = separateCounts[0] + " texture switches and " + separateCounts[1] + " render calls with separate atlases, "
+            + packedCounts[0] + " and " + packedCounts[1] + " with packed atlases";
+        assertTrue("Packing did not reduce the texture switches: " + report, packedCounts[0] < separateCounts[0]);
+        assertTrue("Packing did not reduce the render calls: " + report, packedCounts[1] < separateCounts[1]);
+    }
+
+    /**
+     * Collect the regions of one playing frame in draw order.
+     * @param effectAtlas Atlas to load the particle images from, or null to load them from the effects folder.
+     */
+    private static TextureRegion[] frameRegions(TextureAtlas backgroundAtlas, TextureRegion ground, TextureAtlas tileAtlas,
+                                                TextureAtlas coinAtlas, TextureAtlas characterAtlas, TextureAtlas effectAtlas) {
+        Array<TextureRegion> regions = new Array<TextureRegion>(TextureRegion.class);
+        for (int i = 0; i < LAYERS; i++) {
+            regions.add(findRegion(backgroundAtlas, "bg_" + i));
+        }
+        regions.add(ground);
+        for (int i = 0; i < TILES; i++) {
+            regions.add(findRegion(tileAtlas, "tile_01"));
+        }
+        for (int i = 0; i < COINS; i++) {
+            regions.add(findRegion(coinAtlas, "coin" + i));
+        }
+        regions.add(findRegion(characterAtlas, "Run0"));
+        addEffectImages(regions, Assets.LAVA_SPARKLES_EFFECT, effectAtlas);
+        addEffectImages(regions, Assets.LAVA_EXPLOSION_EFFECT, effectAtlas);
+        for (TextureRegion region : regions) {
+            assertNotNull("Missing region in the frame", region);
+        }
+        return regions.toArray();
+    }
+
+    /**
+     * Draw the regions in one batch, the way a frame draws them.
+     * @return Texture switches and render calls of the frame.
+     */
+    private static int[] drawFrame(TextureRegion[] regions) {
+        mockGL.resetCounters();
+        spriteBatch.begin();
+        for (int i = 0; i < regions.length; i++) {
+            spriteBatch.draw(regions[i], i * 10f, 0f, 64f, 64f);
+        }
+        spriteBatch.end();
+        return new int[]{mockGL.getTextureSwitches(), spriteBatch.renderCalls};
+    }
+
+    private static TextureRegion findRegion(TextureAtlas atlas, String name) {
+        TextureRegion region = atlas.findRegion(name);
+        assertNotNull("Region " + name + " not found", region);
+        return region;
+    }
+
+    private static TextureAtlas loadAtlas(String fileName) {
+        TextureAtlas atlas = new TextureAtlas(Gdx.files.internal(fileName));
+        atlases.add(atlas);
+        return atlas;
+    }
+
+    /**
+     * Load a particle effect and add the images of all its emitters to the regions.
+     * @param atlas Atlas to load the images from, or null to load them from the effects folder.
+     */
+    private static void addEffectImages(Array<TextureRegion> regions, String fileName, TextureAtlas atlas) {
+        ParticleEffect effect = new ParticleEffect();
+        if (atlas == null) {
+            effect.load(Gdx.files.internal(fileName), Gdx.files.internal("effects"));
+        } else {
+            effect.load(Gdx.files.internal(fileName), atlas);
+        }
+        effects.add(effect);
+        for (ParticleEmitter emitter : effect.getEmitters()) {
+            for (Sprite sprite : emitter.getSprites()) {
+                regions.add(sprite);
+            }
+        }
+    }
+}